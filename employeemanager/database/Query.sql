@@ -1,5 +1,5 @@
-INSERT INTO Employee (name, email, job_title, phone, image_url, employee_code) 
+INSERT INTO Employee (id, name, email, job_title, phone, image_url, employee_code) 
 VALUES 
-('Alice Johnson', 'alice.johnson@example.com', 'UX Designer', '555-666-7777', 'http://example.com/alice.jpg', 'EMP003'),
-('Bob Williams', 'bob.williams@example.com', 'Backend Developer', '444-555-6666', 'http://example.com/bob.jpg', 'EMP004'),
-('Charlie Brown', 'charlie.brown@example.com', 'Data Analyst', '333-444-5555', 'http://example.com/charlie.jpg', 'EMP005');
+(NEXT VALUE FOR employee_seq, 'Alice Johnson', 'alice.johnson@example.com', 'UX Designer', '555-666-7777', 'http://example.com/alice.jpg', 'EMP003'),
+(NEXT VALUE FOR employee_seq, 'Bob Williams', 'bob.williams@example.com', 'Backend Developer', '444-555-6666', 'http://example.com/bob.jpg', 'EMP004'),
+(NEXT VALUE FOR employee_seq, 'Charlie Brown', 'charlie.brown@example.com', 'Data Analyst', '333-444-5555', 'http://example.com/charlie.jpg', 'EMP005');
@@ -0,0 +1,72 @@
+package com.example.employeemanager.benchmark;
+
+import com.example.employeemanager.jwt.JwtUtil;
+import com.example.employeemanager.model.Employee;
+import com.example.employeemanager.model.User;
+import com.example.employeemanager.repo.UserRepo;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Shared setup for the benchmarks. Repositories are replaced with plain proxies rather than
+ * Mockito mocks so stubbing overhead does not show up in the measurements.
+ */
+final class BenchmarkFixtures {
+    static final String ACCESS_SECRET = "zx5M1q2ehrSh9AQVx8Xnz5j6cKiV39p8i0GaO7RnLUg=";
+    static final String REFRESH_SECRET = "JxF/55Udc8CLqQzVIQZIrJ1Mi5L/AB6wUMFR7tHs6WQ=";
+    static final long ACCESS_EXPIRATION = 90_000_000L;
+    static final long REFRESH_EXPIRATION = 2_592_000_000L;
+
+    private static final String[] JOB_TITLES = {"Software Engineer", "Data Scientist", "Engineering Manager", "Designer", "QA Engineer"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtUtil jwtUtil(long verifiedTokenCacheSize) {
+        return new JwtUtil(ACCESS_SECRET, REFRESH_SECRET, ACCESS_EXPIRATION, REFRESH_EXPIRATION, verifiedTokenCacheSize);
+    }
+
+    static User user(String username) {
+        User user = new User(username, "{noop}password", "USER");
+        user.setId(1L);
+        return user;
+    }
+
+    /**
+     * A {@link UserRepo} whose {@code findByUsername} always returns {@code user}; every other method throws.
+     */
+    static UserRepo userRepo(User user) {
+        return (UserRepo) Proxy.newProxyInstance(UserRepo.class.getClassLoader(), new Class<?>[]{UserRepo.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findByUsername":
+                            return Optional.of(user);
+                        case "findByTokensRevokedAtIsNotNull":
+                            return List.of();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "UserRepo stub";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee("Employee " + i, "employee" + i + "@example.com",
+                    JOB_TITLES[i % JOB_TITLES.length], "+1-555-" + (1000 + i % 9000), null,
+                    "EMP-" + i, i % 3 == 0 ? "INACTIVE" : "ACTIVE");
+            employee.setId((long) i + 1);
+            employees.add(employee);
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.employeemanager.benchmark;
+
+import com.example.employeemanager.service.SnowflakeEmployeeCodeGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Random UUID employee codes against {@link SnowflakeEmployeeCodeGenerator} codes: generation
+ * cost, and rows per second into an H2 table with a unique index on the code. After an insert
+ * run the space used per row (table plus index) is printed, which shows the shorter keys and
+ * the fuller pages that append-only inserts leave behind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeCodeBenchmark {
+    private static final int BATCH = 1000;
+
+    @Param({"uuid", "snowflake"})
+    private String codes;
+
+    private Supplier<String> generator;
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long rows;
+
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        SnowflakeEmployeeCodeGenerator snowflake = new SnowflakeEmployeeCodeGenerator(1);
+        generator = "uuid".equals(codes) ? () -> UUID.randomUUID().toString() : snowflake::nextCode;
+        // A file database, since H2 only reports space used for tables it stores on disk
+        directory = Files.createTempDirectory("employee-code-benchmark");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("codes"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table employee (id bigint auto_increment primary key, employee_code varchar(36) not null)");
+            statement.execute("create unique index ux_employee_code on employee (employee_code)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("insert into employee (employee_code) values (?)");
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insert() throws SQLException {
+        for (int i = 0; i < BATCH; i++) {
+            insert.setString(1, generator.get());
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+        rows += BATCH;
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        if (rows > 0) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("select disk_space_used('employee')")) {
+                result.next();
+                System.out.printf("%n%s codes: %d rows, %.1f bytes per row in table and index%n",
+                        codes, rows, (double) result.getLong(1) / rows);
+            }
+        }
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
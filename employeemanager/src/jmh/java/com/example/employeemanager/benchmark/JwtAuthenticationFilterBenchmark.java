@@ -0,0 +1,82 @@
+package com.example.employeemanager.benchmark;
+
+import com.example.employeemanager.jwt.JwtAuthenticationFilter;
+import com.example.employeemanager.jwt.JwtUtil;
+import com.example.employeemanager.security.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a request with a valid access token through {@link JwtAuthenticationFilter}, with the
+ * user lookup and revocation store replaced by in-memory stubs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+    @Param({"false", "true"})
+    private boolean stateless;
+
+    @Param({"10000", "0"})
+    private long verifiedTokenCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil(verifiedTokenCacheSize);
+        UserDetails userDetails = new User("benchmark", "{noop}password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        UserDetailsService userDetailsService = username -> userDetails;
+        TokenRevocationService revocationService =
+                new TokenRevocationService(BenchmarkFixtures.userRepo(BenchmarkFixtures.user("benchmark")), 1000);
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, revocationService, stateless,
+                new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/employee/find/1");
+        request.setServletPath("/employee/find/1");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateAccessToken(userDetails));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object doFilter() throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            // OncePerRequestFilter marks the request as filtered; reset so every call does the full work
+            request.clearAttributes();
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
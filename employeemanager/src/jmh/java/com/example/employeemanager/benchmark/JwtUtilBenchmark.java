@@ -0,0 +1,73 @@
+package com.example.employeemanager.benchmark;
+
+import com.example.employeemanager.jwt.JwtClaims;
+import com.example.employeemanager.jwt.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private UserDetails userDetails;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = BenchmarkFixtures.jwtUtil(10_000);
+        uncachedJwtUtil = BenchmarkFixtures.jwtUtil(0);
+        userDetails = new User("benchmark", "{noop}password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        accessToken = cachingJwtUtil.generateAccessToken(userDetails);
+        refreshToken = cachingJwtUtil.generateRefreshToken("benchmark", List.of("ROLE_USER"), 0);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return cachingJwtUtil.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return cachingJwtUtil.generateRefreshToken("benchmark", List.of("ROLE_USER"), 0);
+    }
+
+    @Benchmark
+    public JwtClaims parseAccessTokenCached() {
+        return cachingJwtUtil.parseAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public JwtClaims parseAccessTokenUncached() {
+        return uncachedJwtUtil.parseAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public JwtClaims parseRefreshToken() {
+        return cachingJwtUtil.parseRefreshToken(refreshToken);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return uncachedJwtUtil.validateToken(accessToken, true);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.employeemanager.config;
+
+import com.example.employeemanager.model.Employee;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String EMPLOYEE_BY_ID = "employeeById";
+    public static final String EMPLOYEES_BY_STATUS = "employeesByStatus";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${employee.cache.by-id.spec:maximumSize=10000,expireAfterWrite=10m}") String byIdSpec,
+            @Value("${employee.cache.by-status.spec:maximumSize=50,expireAfterWrite=1m}") String byStatusSpec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return EMPLOYEE_BY_ID.equals(name)
+                        ? new EmployeeByIdCache(name, cache, isAllowNullValues())
+                        : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.registerCustomCache(EMPLOYEE_BY_ID, Caffeine.from(byIdSpec).recordStats().build());
+        caffeineCacheManager.registerCustomCache(EMPLOYEES_BY_STATUS, Caffeine.from(byStatusSpec).recordStats().build());
+
+        // Defer puts and evictions until the surrounding transaction commits, so other requests
+        // never see uncommitted rows and a rolled-back write leaves the caches alone. This does not
+        // stop a read that loaded the old row before the commit from caching it afterwards; for
+        // employees by id the version check below does, for the status lists only the TTL does
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+
+    /**
+     * Never replaces an employee with an older version of itself, so a cache fill that read the
+     * row just before an update committed cannot overwrite the entry the update put. A fill that
+     * read a row just before it was deleted can still re-cache it until the entry expires.
+     */
+    static final class EmployeeByIdCache extends CaffeineCache {
+        EmployeeByIdCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            getNativeCache().asMap().merge(key, toStoreValue(value),
+                    (current, incoming) -> isOlder(incoming, current) ? current : incoming);
+        }
+
+        private static boolean isOlder(Object incoming, Object current) {
+            return incoming instanceof Employee next && current instanceof Employee cached
+                    && next.getVersion() != null && cached.getVersion() != null
+                    && next.getVersion() < cached.getVersion();
+        }
+    }
+}
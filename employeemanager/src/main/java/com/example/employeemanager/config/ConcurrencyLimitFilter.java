@@ -0,0 +1,162 @@
+package com.example.employeemanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of requests in progress at a multiple of the connection pool size.
+ * <p>
+ * With virtual threads Tomcat no longer bounds concurrency through its worker pool, so a
+ * burst of thousands of requests would all queue inside Hikari and time out there. Requests
+ * over the limit wait briefly for a slot and are then rejected with 503 and Retry-After.
+ * Enabled by default only when {@code spring.threads.virtual.enabled} is set.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final boolean enabled;
+    private final int limit;
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final int retryAfterSeconds;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(
+            @Value("${request.concurrency-limit.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+            @Value("${request.concurrency-limit.permits-per-connection:2}") int permitsPerConnection,
+            @Value("${request.concurrency-limit.max-wait:2s}") Duration maxWait,
+            @Value("${request.concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds,
+            ObjectProvider<HikariDataSource> pools,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.limit = poolSize(pools.orderedStream().toList()) * permitsPerConnection;
+        this.permits = new Semaphore(limit, true);
+        this.maxWait = maxWait;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejected = Counter.builder("http.server.requests.limiter.rejected")
+                .description("Requests rejected because the concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.limiter.active", this, filter -> filter.limit - filter.permits.availablePermits())
+                .description("Requests currently holding a concurrency slot")
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.limiter.waiting", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a concurrency slot")
+                .register(meterRegistry);
+    }
+
+    // Summed over all pools, so a read replica adds to the capacity
+    private static int poolSize(List<HikariDataSource> pools) {
+        int total = 0;
+        for (HikariDataSource pool : pools) {
+            int configured = pool.getMaximumPoolSize();
+            // Hikari leaves the size unset (-1) until the pool starts, then falls back to its default
+            total += configured > 0 ? configured : DEFAULT_POOL_SIZE;
+        }
+        return total > 0 ? total : DEFAULT_POOL_SIZE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Keep probes and scrapes answering while the application is saturated; feed
+        // connections stay open for minutes, and neither they nor avatars use a database connection
+        String path = request.getServletPath();
+        return !enabled || path.equals("/actuator/health") || path.equals("/actuator/prometheus")
+                || path.equals("/employee/feed") || path.startsWith("/avatars/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server busy, retry later");
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming responses keep their slot until the async work is done
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private static final class ReleasingAsyncListener implements AsyncListener {
+        private final Runnable release;
+
+        private ReleasingAsyncListener(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register for the next async cycle if the request is dispatched again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
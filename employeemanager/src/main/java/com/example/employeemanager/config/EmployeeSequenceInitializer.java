@@ -0,0 +1,48 @@
+package com.example.employeemanager.config;
+
+import com.example.employeemanager.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Employee ids used to come from an AUTO_INCREMENT column. Moves the id sequence past the
+ * highest existing id so rows created before the switch are never handed out again.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EmployeeSequenceInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSequenceInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public EmployeeSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+    }
+
+    @Override
+    public void run(String... args) {
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM employee", Long.class);
+        long nextValue = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(Employee.ID_SEQUENCE), Long.class);
+
+        // The pooled optimizer hands out (value - allocationSize, value], so leave a full block of headroom
+        if (nextValue - Employee.ID_ALLOCATION_SIZE < maxId) {
+            long restartWith = maxId + Employee.ID_ALLOCATION_SIZE;
+            jdbcTemplate.execute("ALTER SEQUENCE " + Employee.ID_SEQUENCE + " RESTART WITH " + restartWith);
+            logger.info("Moved {} to {} (highest existing employee id is {})",
+                    Employee.ID_SEQUENCE, restartWith, maxId);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.employeemanager.config;
+
+import com.example.employeemanager.jwt.JwtUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Application metrics on top of what actuator records by default (HTTP latency histograms,
+ * Hibernate statistics, HikariCP pool timings): SQL statements per request and the
+ * verified-token cache.
+ */
+@Configuration
+public class MetricsConfig {
+    private final MeterRegistry meterRegistry;
+
+    public MetricsConfig(MeterRegistry meterRegistry, JwtUtil jwtUtil) {
+        this.meterRegistry = meterRegistry;
+        if (jwtUtil.getVerifiedTokenCache() != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, jwtUtil.getVerifiedTokenCache(), "verifiedTokens");
+        }
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+    }
+
+    /**
+     * Runs ahead of the security filters so the user lookup done during authentication is counted too.
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> queryCountFilter() {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                QueryCountingStatementInspector.reset();
+                filterChain.doFilter(request, response);
+                // Async requests finish on another thread, so their count would be incomplete
+                if (request.isAsyncStarted()) {
+                    return;
+                }
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("http.server.requests.queries")
+                        .description("SQL statements issued while handling a request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                        .tag("outcome", Outcome.forStatus(response.getStatus()).name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(QueryCountingStatementInspector.count());
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
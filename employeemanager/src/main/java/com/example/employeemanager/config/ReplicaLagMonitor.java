@@ -0,0 +1,127 @@
+package com.example.employeemanager.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replica lag with a heartbeat row: each beat reads the timestamp the replica has
+ * replicated so far, then writes a new one on the primary. Lag is therefore only known to
+ * within one heartbeat interval, which is why it should be well below the tolerance. Until
+ * the first successful check, whenever the replica cannot be read, and whenever no check has
+ * succeeded within the tolerance, reads stay on the primary.
+ * <p>
+ * Beats run on a thread of their own, so long scheduled jobs cannot hold them up.
+ */
+public class ReplicaLagMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final Duration heartbeatInterval;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean heartbeatTableReady;
+    private volatile long lagMillis = -1;
+    private volatile boolean replicaUsable;
+    private volatile long usableCheckedAt;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration heartbeatInterval,
+                             MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        this.heartbeatInterval = heartbeatInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis / 1000.0)
+                .description("Replication lag seen by the last heartbeat, -1 when the replica is unreachable")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::beatSafely, 0, heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public void beat() {
+        long now = System.currentTimeMillis();
+        long lag;
+        try {
+            List<Long> replicated = replica.queryForList("select beat_at from replication_heartbeat where id = 1", Long.class);
+            lag = replicated.isEmpty() ? -1 : Math.max(0, now - replicated.get(0));
+        } catch (DataAccessException e) {
+            logger.debug("Replica heartbeat read failed: {}", e.getMessage());
+            lag = -1;
+        }
+        try {
+            if (!heartbeatTableReady) {
+                createHeartbeatTable();
+            }
+            if (primary.update("update replication_heartbeat set beat_at = ? where id = 1", now) == 0) {
+                primary.update("insert into replication_heartbeat (id, beat_at) values (1, ?)", now);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Replica heartbeat write to primary failed: {}", e.getMessage());
+        }
+        record(lag, now);
+    }
+
+    /**
+     * Whether the last check found the replica within the tolerance, and that check is itself
+     * no older than the tolerance.
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable && System.currentTimeMillis() - usableCheckedAt <= maxLag.toMillis();
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    // DDL once rather than on every beat: it takes a metadata lock and is written to the binlog
+    private void createHeartbeatTable() {
+        primary.execute("create table if not exists replication_heartbeat (id int not null primary key, beat_at bigint not null)");
+        heartbeatTableReady = true;
+    }
+
+    private void beatSafely() {
+        try {
+            beat();
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule for good
+            logger.warn("Replica heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    private void record(long lag, long checkedAt) {
+        boolean usable = lag >= 0 && lag <= maxLag.toMillis();
+        if (usable != replicaUsable) {
+            if (usable) {
+                logger.info("Replica caught up (lag {} ms), routing read-only transactions to it", lag);
+            } else {
+                logger.warn("Replica lag {} ms exceeds {} ms or replica unreachable, reading from primary", lag, maxLag.toMillis());
+            }
+        }
+        lagMillis = lag;
+        usableCheckedAt = checkedAt;
+        replicaUsable = usable;
+    }
+}
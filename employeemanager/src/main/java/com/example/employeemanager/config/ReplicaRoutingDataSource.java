@@ -0,0 +1,68 @@
+package com.example.employeemanager.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * Reads fall back to the primary while the replica lags more than the configured tolerance,
+ * and for the rest of the request once the current thread has run a read-write transaction,
+ * so a request always sees its own writes. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction's
+ * read-only flag is only known after the transaction manager asked for a connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> primaryReads = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    /**
+     * Ends read-your-writes stickiness for the current thread, at the end of a request.
+     */
+    public static void unpin() {
+        pinnedToPrimary.remove();
+    }
+
+    /**
+     * Runs {@code read} against the primary even inside a read-only transaction, without pinning
+     * the rest of the request. For results that outlive the request, such as cache fills: a row
+     * loaded from a lagging replica would otherwise be served from the cache long after the
+     * replica caught up. Must be entered before the transaction's first statement.
+     */
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        if (primaryReads.get() != null) {
+            return read.get();
+        }
+        primaryReads.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            primaryReads.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                pinnedToPrimary.set(Boolean.TRUE);
+            }
+            return PRIMARY;
+        }
+        if (pinnedToPrimary.get() != null || primaryReads.get() != null || !lagMonitor.isReplicaUsable()) {
+            return PRIMARY;
+        }
+        return REPLICA;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.employeemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Employee counts per status and per job title")
+public class EmployeeAggregates {
+    @Schema(description = "Total number of employees", example = "1200")
+    private long total;
+
+    private Map<String, Long> byStatus;
+
+    private Map<String, Long> byJobTitle;
+
+    @Schema(description = "When the counters were last checked against the database")
+    private Instant reconciledAt;
+}
@@ -0,0 +1,23 @@
+package com.example.employeemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Selects the employees a bulk operation applies to: either an explicit list of ids or
+ * every employee with a given status, never both.
+ */
+@Data
+@Schema(description = "Employees to change, by id list or by current status")
+public class EmployeeBulkRequest {
+    @Schema(description = "Ids of the employees to change", example = "[101, 102, 103]")
+    private List<Long> ids;
+
+    @Schema(description = "Change every employee currently in this status", example = "PENDING")
+    private String whereStatus;
+
+    @Schema(description = "New status; only used by the status update", example = "INACTIVE")
+    private String status;
+}
@@ -0,0 +1,16 @@
+package com.example.employeemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk employee update or delete")
+public class EmployeeBulkResult {
+    @Schema(description = "Number of employees changed or deleted", example = "1200")
+    private int affected;
+
+    @Schema(description = "Number of batches the work was split into", example = "3")
+    private int chunks;
+}
@@ -1,17 +1,20 @@
-//package com.example.employeemanager.dto;
-//
-//public class EmployeeDTO {
-//    @NotBlank(message = "Name is required")
-//    @Size(max = 100, message = "Name cannot exceed 100 characters")
-//    private String name;
-//
-//    @NotBlank(message = "Email is required")
-//    @Email(message = "Invalid email format")
-//    private String email;
-//
-//    @NotBlank(message = "Job title is required")
-//    private String jobTitle;
-//
-//    @Pattern(regexp = "^[0-9]{10,15}$", message = "Invalid phone number format")
-//    private String phone;
-//}
+package com.example.employeemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Read-only employee summary for list views. Built directly by JPQL constructor expressions,
+ * so no entity is hydrated or tracked by the persistence context.
+ */
+@Getter
+@AllArgsConstructor
+@Schema(description = "Summary of an employee for list views")
+public class EmployeeDTO {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String jobTitle;
+    private final String status;
+}
@@ -0,0 +1,26 @@
+package com.example.employeemanager.dto;
+
+import com.example.employeemanager.model.Employee;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "An employee change pushed on the change feed")
+public class EmployeeFeedEvent {
+    @Schema(description = "Position in the feed, also sent as the SSE event id", example = "1729252800000001")
+    private final long sequence;
+
+    @Schema(example = "UPDATED", allowableValues = {"CREATED", "UPDATED", "STATUS_CHANGED", "DELETED"})
+    private final String type;
+
+    @Schema(example = "42")
+    private final Long id;
+
+    @Schema(description = "The employee after the change; absent for STATUS_CHANGED and DELETED")
+    private final Employee employee;
+
+    @Schema(description = "Status after the change; absent for DELETED", example = "ACTIVE")
+    private final String status;
+}
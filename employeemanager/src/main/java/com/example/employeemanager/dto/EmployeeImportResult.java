@@ -0,0 +1,36 @@
+package com.example.employeemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(description = "Outcome of a bulk employee import")
+public class EmployeeImportResult {
+    @Schema(description = "Number of rows read from the request", example = "1000")
+    private int received;
+
+    @Schema(description = "Number of rows inserted", example = "998")
+    private int imported;
+
+    @Schema(description = "Rows that were rejected, with the reason")
+    private List<RowError> errors = new ArrayList<>();
+
+    public int getFailed() {
+        return errors.size();
+    }
+
+    @Data
+    @AllArgsConstructor
+    @Schema(description = "A rejected import row")
+    public static class RowError {
+        @Schema(description = "1-based position of the row in the request", example = "17")
+        private int row;
+
+        @Schema(example = "Email is required")
+        private String message;
+    }
+}
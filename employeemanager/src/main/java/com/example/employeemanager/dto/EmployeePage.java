@@ -0,0 +1,20 @@
+package com.example.employeemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "A page of employees fetched with keyset pagination")
+public class EmployeePage<T> {
+    private List<T> content;
+
+    @Schema(description = "Number of employees in this page", example = "50")
+    private int size;
+
+    @Schema(description = "Opaque cursor for the next page, null when this is the last page", example = "MTA1")
+    private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package com.example.employeemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+/**
+ * Partial employee update. Only non-null fields are written; the version (or an If-Match
+ * header) must match the stored row, otherwise the patch is rejected with 409.
+ */
+@Data
+@Schema(description = "Fields to change on an employee; omitted fields are left as they are")
+public class EmployeePatch {
+    @Schema(example = "Jane Doe")
+    private String name;
+
+    @Schema(example = "jane.doe@example.com")
+    private String email;
+
+    @Schema(example = "Software Engineer")
+    private String jobTitle;
+
+    @Schema(example = "+254-700-000000")
+    private String phone;
+
+    @Schema(example = "ACTIVE")
+    private String status;
+
+    @Schema(description = "Version the change is based on; may be sent as If-Match instead", example = "3")
+    private Long version;
+
+    public boolean isEmpty() {
+        return name == null && email == null && jobTitle == null && phone == null && status == null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.employeemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "An employee matching a search query")
+public class EmployeeSearchHit {
+    private Long id;
+    private String name;
+    private String email;
+    private String jobTitle;
+    private String status;
+
+    @Schema(description = "Relevance score, higher is better", example = "9")
+    private int score;
+}
@@ -0,0 +1,23 @@
+package com.example.employeemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "A page of ranked search results")
+public class EmployeeSearchResult {
+    private List<EmployeeSearchHit> hits;
+
+    @Schema(description = "Total number of matching employees", example = "42")
+    private int total;
+
+    @Schema(description = "Zero-based page number", example = "0")
+    private int page;
+
+    @Schema(description = "Requested page size", example = "50")
+    private int size;
+}
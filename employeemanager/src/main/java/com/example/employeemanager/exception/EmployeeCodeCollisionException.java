@@ -0,0 +1,11 @@
+package com.example.employeemanager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class EmployeeCodeCollisionException extends RuntimeException {
+    public EmployeeCodeCollisionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
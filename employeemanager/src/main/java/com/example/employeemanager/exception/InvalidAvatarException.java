@@ -0,0 +1,11 @@
+package com.example.employeemanager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidAvatarException extends RuntimeException {
+    public InvalidAvatarException(String message) {
+        super(message);
+    }
+}
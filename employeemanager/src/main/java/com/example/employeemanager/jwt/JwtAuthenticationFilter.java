@@ -1,13 +1,20 @@
 package com.example.employeemanager.jwt;
 
+import com.example.employeemanager.security.TokenRevocationService;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -16,24 +23,53 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.nio.charset.StandardCharsets;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private static final String FEED_PATH = "/employee/feed";
+    private static final String FEED_TOKEN_PARAMETER = "access_token";
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
-
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean stateless;
+    // Time spent verifying the token and checking revocation, by outcome
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
+    private final Timer revokedTokenTimer;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   UserDetailsService userDetailsService,
+                                   TokenRevocationService tokenRevocationService,
+                                   @Value("${jwt.auth.stateless:false}") boolean stateless,
+                                   MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.stateless = stateless;
+        this.validTokenTimer = validationTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = validationTimer(meterRegistry, "invalid");
+        this.revokedTokenTimer = validationTimer(meterRegistry, "revoked");
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.validation")
+                .description("Access token signature, expiry and revocation checks")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getServletPath();
-        return path.equals("/api/auth/register") || path.equals("/api/auth/login");
+        // refresh and logout carry a refresh token, which is verified by the controller
+        return path.equals("/api/auth/register") || path.equals("/api/auth/login")
+                || path.equals("/api/auth/refresh") || path.equals("/api/auth/logout");
     }
 
     @Override
@@ -45,12 +81,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = parseJwt(request);
 
             if (jwt != null && !jwt.isBlank()) {
-                authenticateWithJwt(jwt, request);
+                authenticateWithJwt(jwt, false, request);
+            } else if (isFeedRequest(request) && request.getParameter(FEED_TOKEN_PARAMETER) != null) {
+                // EventSource cannot send headers, so the feed also takes a feed token in the URL
+                authenticateWithJwt(request.getParameter(FEED_TOKEN_PARAMETER), true, request);
             }
 
             filterChain.doFilter(request, response);
 
-        } catch (IllegalArgumentException | JwtValidationException e) {
+        } catch (IllegalArgumentException | JwtValidationException | JwtException e) {
             handleJwtError(response, request, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized", e.getMessage());
         } catch (UsernameNotFoundException e) {
             handleJwtError(response, request, HttpServletResponse.SC_NOT_FOUND, "User Not Found", "User associated with token not found");
@@ -60,19 +99,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
-    private void authenticateWithJwt(String jwt, HttpServletRequest request) {
-        String username = jwtUtil.extractUsername(jwt);
-
-        if (username == null || username.isBlank()) {
-            throw new JwtValidationException("JWT does not contain a valid username");
-        }
+    private void authenticateWithJwt(String jwt, boolean feedToken, HttpServletRequest request) {
+        // Signature and expiry are verified once here; everything below works off the parsed claims
+        long start = System.nanoTime();
+        Timer timer = invalidTokenTimer;
+        JwtClaims claims;
+        String username;
+        try {
+            claims = feedToken ? jwtUtil.parseFeedToken(jwt) : jwtUtil.parseAccessToken(jwt);
+            username = claims.getSubject();
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (username == null || username.isBlank()) {
+                throw new JwtValidationException("JWT does not contain a valid username");
+            }
 
-        if (!jwtUtil.validateToken(jwt, true)) { // true = access token
-            throw new JwtValidationException("Invalid or expired JWT token");
+            if (tokenRevocationService.isRevoked(username, claims.getIssuedAt())) {
+                timer = revokedTokenTimer;
+                throw new JwtValidationException("JWT has been revoked");
+            }
+            timer = validTokenTimer;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
 
+        // Stateless mode trusts the verified roles claim instead of reading the user row on every request
+        UserDetails userDetails = stateless
+                ? userFromClaims(claims)
+                : userDetailsService.loadUserByUsername(username);
 
         UsernamePasswordAuthenticationToken authentication =
                 new UsernamePasswordAuthenticationToken(
@@ -85,6 +138,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
+    private static boolean isFeedRequest(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) && FEED_PATH.equals(request.getServletPath());
+    }
+
+    private UserDetails userFromClaims(JwtClaims claims) {
+        List<SimpleGrantedAuthority> authorities = claims.getRoles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        return new User(claims.getSubject(), "", authorities);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
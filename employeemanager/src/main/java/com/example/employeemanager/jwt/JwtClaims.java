@@ -0,0 +1,46 @@
+package com.example.employeemanager.jwt;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Claims of a token whose signature has already been verified. Everything the
+ * authentication filter needs, so the token is only parsed once per request.
+ */
+public final class JwtClaims {
+    private final String subject;
+    private final List<String> roles;
+    private final Date issuedAt;
+    private final Date expiration;
+    // Only set on refresh tokens
+    private final String tokenId;
+    private final Integer family;
+    // The login a refresh token descends from, and how many rotations ago that login was
+    private final String sessionId;
+    private final Long generation;
+
+    public JwtClaims(String subject, List<String> roles, Date issuedAt, Date expiration) {
+        this(subject, roles, issuedAt, expiration, null, null, null, null);
+    }
+
+    public JwtClaims(String subject, List<String> roles, Date issuedAt, Date expiration,
+                     String tokenId, Integer family, String sessionId, Long generation) {
+        this.subject = subject;
+        this.roles = roles == null ? List.of() : List.copyOf(roles);
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+        this.tokenId = tokenId;
+        this.family = family;
+        this.sessionId = sessionId;
+        this.generation = generation;
+    }
+
+    public String getSubject() { return subject; }
+    public List<String> getRoles() { return roles; }
+    public Date getIssuedAt() { return issuedAt; }
+    public Date getExpiration() { return expiration; }
+    public String getTokenId() { return tokenId; }
+    public Integer getFamily() { return family; }
+    public String getSessionId() { return sessionId; }
+    public Long getGeneration() { return generation; }
+}
@@ -1,5 +1,7 @@
 package com.example.employeemanager.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
@@ -8,31 +10,102 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.function.Function;
 import java.nio.charset.StandardCharsets;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtUtil {
+    private static final String FAMILY_CLAIM = "fam";
+    private static final String SESSION_CLAIM = "sid";
+    private static final String GENERATION_CLAIM = "gen";
+    // Audience of the short-lived tokens that open the change feed from a URL
+    private static final String FEED_AUDIENCE = "employee-feed";
 
     private final Key accessTokenSecret;
     private final Key refreshTokenSecret;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
+    private final long feedTokenExpiration;
+    // Parsers are immutable and thread-safe; build them once per key instead of per call
+    private final JwtParser accessTokenParser;
+    private final JwtParser refreshTokenParser;
+    private final JwtParser feedTokenParser;
+    // Claims of access tokens that already passed verification, keyed by a SHA-256 of the token
+    private final Cache<String, JwtClaims> verifiedTokens;
 
     public JwtUtil(
             @Value("${jwt.secret.access}") String accessSecret,
             @Value("${jwt.secret.refresh}") String refreshSecret,
             @Value("${jwt.expiration.access}") long accessTokenExpiration,
-            @Value("${jwt.expiration.refresh}") long refreshTokenExpiration)
+            @Value("${jwt.expiration.refresh}") long refreshTokenExpiration,
+            @Value("${jwt.expiration.feed:60000}") long feedTokenExpiration,
+            @Value("${jwt.cache.max-size:10000}") long verifiedTokenCacheSize)
     {
         this.accessTokenSecret = Keys.hmacShaKeyFor(accessSecret.getBytes());
         this.refreshTokenSecret = Keys.hmacShaKeyFor(refreshSecret.getBytes());
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.feedTokenExpiration = feedTokenExpiration;
+        this.accessTokenParser = Jwts.parserBuilder().setSigningKey(accessTokenSecret).build();
+        this.refreshTokenParser = Jwts.parserBuilder().setSigningKey(refreshTokenSecret).build();
+        this.feedTokenParser = Jwts.parserBuilder().setSigningKey(accessTokenSecret).requireAudience(FEED_AUDIENCE).build();
+        this.verifiedTokens = verifiedTokenCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedTokenCacheSize)
+                        .expireAfter(new TokenExpiry())
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Verifies the signature and expiry of an access token exactly once and returns its claims.
+     *
+     * @throws JwtException if the token is malformed, expired or not signed with the access key
+     */
+    public JwtClaims parseAccessToken(String token) {
+        if (verifiedTokens == null) {
+            return toJwtClaims(extractAccessClaims(token));
+        }
+        String key = hash(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        JwtClaims claims = toJwtClaims(extractAccessClaims(token));
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Verifies a token issued by {@link #generateFeedToken}. Feed tokens share the access key
+     * but carry their own audience, so they are accepted nowhere else.
+     */
+    public JwtClaims parseFeedToken(String token) {
+        return toJwtClaims(extractAllClaims(token, feedTokenParser));
+    }
+
+    /**
+     * Cache of already-verified access tokens, or {@code null} when disabled via
+     * {@code jwt.cache.max-size=0}.
+     */
+    public Cache<String, JwtClaims> getVerifiedTokenCache() {
+        return verifiedTokens;
+    }
 
+    public JwtClaims parseRefreshToken(String token) {
+        return toJwtClaims(extractAllClaims(token, refreshTokenParser));
     }
 
     public String extractUsername(String token) {
@@ -44,16 +117,22 @@ public class JwtUtil {
     }
 
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = extractAllClaims(token, accessTokenParser);
         return claimsResolver.apply(claims);
     }
 
 
-    private Claims extractAllClaims(String token) {
+    private Claims extractAccessClaims(String token) {
+        Claims claims = extractAllClaims(token, accessTokenParser);
+        if (claims.getAudience() != null) {
+            throw new JwtException("JWT is not an access token");
+        }
+        return claims;
+    }
+
+    private Claims extractAllClaims(String token, JwtParser parser) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(accessTokenSecret)
-                    .build()
+            return parser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (ExpiredJwtException e) {
@@ -69,11 +148,33 @@ public class JwtUtil {
         }
     }
 
+    private JwtClaims toJwtClaims(Claims claims) {
+        List<String> roles = new ArrayList<>();
+        Object rolesClaim = claims.get("roles");
+        if (rolesClaim instanceof Collection<?> values) {
+            for (Object role : values) {
+                roles.add(String.valueOf(role));
+            }
+        }
+        Integer family = claims.get(FAMILY_CLAIM, Integer.class);
+        Number generation = claims.get(GENERATION_CLAIM, Number.class);
+        return new JwtClaims(claims.getSubject(), roles, claims.getIssuedAt(), claims.getExpiration(),
+                claims.getId(), family, claims.get(SESSION_CLAIM, String.class),
+                generation == null ? null : generation.longValue());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     public boolean validateToken(String token, boolean isAccessToken) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(isAccessToken ? accessTokenSecret : refreshTokenSecret)
-                    .build()
+            (isAccessToken ? accessTokenParser : refreshTokenParser)
                     .parseClaimsJws(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
@@ -91,6 +192,56 @@ public class JwtUtil {
     public String generateRefreshToken(UserDetails userDetails) {
         return buildToken(userDetails, refreshTokenSecret, refreshTokenExpiration);
     }
+
+    /**
+     * Self-contained refresh token carrying a unique id (jti), the user's current token family
+     * and its place in the rotation chain started at login (sid, gen), so it can be verified
+     * and revoked without a database lookup.
+     */
+    public String generateRefreshToken(String username, List<String> roles, int family,
+                                       String sessionId, long generation) {
+        return Jwts.builder()
+                .setSubject(username)
+                .setId(UUID.randomUUID().toString())
+                .claim("roles", roles)
+                .claim(FAMILY_CLAIM, family)
+                .claim(SESSION_CLAIM, sessionId)
+                .claim(GENERATION_CLAIM, generation)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + refreshTokenExpiration))
+                .signWith(refreshTokenSecret, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Access token that only opens the change feed, for clients such as EventSource that can
+     * pass it in the URL but cannot set an Authorization header. It expires quickly because
+     * URLs end up in logs and browser history.
+     */
+    public String generateFeedToken(String username, List<String> roles) {
+        return Jwts.builder()
+                .setSubject(username)
+                .setAudience(FEED_AUDIENCE)
+                .claim("roles", roles)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + feedTokenExpiration))
+                .signWith(accessTokenSecret, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public long getFeedTokenExpiration() {
+        return feedTokenExpiration;
+    }
+
+    public String generateAccessToken(String username, List<String> roles) {
+        return Jwts.builder()
+                .setSubject(username)
+                .claim("roles", roles)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
+                .signWith(accessTokenSecret, SignatureAlgorithm.HS256)
+                .compact();
+    }
     private String buildToken(UserDetails userDetails, Key secret, long expiration) {
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
@@ -110,9 +261,7 @@ public class JwtUtil {
         return buildToken(userDetails, accessTokenSecret, accessTokenExpiration);
     }
     public String getUsernameFromToken(String token, boolean isAccessToken) {
-        return Jwts.parserBuilder()
-                .setSigningKey(isAccessToken ? accessTokenSecret : refreshTokenSecret)
-                .build()
+        return (isAccessToken ? accessTokenParser : refreshTokenParser)
                 .parseClaimsJws(token)
                 .getBody()
                 .getSubject();
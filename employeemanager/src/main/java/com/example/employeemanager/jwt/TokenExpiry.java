@@ -0,0 +1,26 @@
+package com.example.employeemanager.jwt;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine expiry policy that keeps an entry exactly as long as the token it describes is valid.
+ */
+public class TokenExpiry implements Expiry<String, JwtClaims> {
+    @Override
+    public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.employeemanager.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.io.Serializable;
 
+// Only changed columns go into UPDATE statements
 @Entity
+@DynamicUpdate
+@Table(indexes = @Index(name = "ux_employee_code", columnList = "employeeCode", unique = true))
 public class Employee implements Serializable {
+    public static final String ID_SEQUENCE = "employee_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     @Column(nullable=false, updatable = false)
     private Long id;
     private String name;
@@ -15,9 +25,15 @@ public class Employee implements Serializable {
     private String jobTitle;
     private String phone;
     private String imageUrl;
-    @Column(nullable = false, updatable = false)
+    // 13-character generated codes; the width still fits the UUIDs of older rows
+    @Column(nullable = false, updatable = false, length = 36)
     private String employeeCode;
     private String status;
+    // Optimistic-lock version, also the basis of the employee's ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
     public Employee() {}
 
@@ -31,6 +47,12 @@ public class Employee implements Serializable {
         this.status= status;
     }
 
+    public Employee(Employee other) {
+        this(other.name, other.email, other.jobTitle, other.phone, other.imageUrl, other.employeeCode, other.status);
+        this.id = other.id;
+        this.version = other.version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -65,6 +87,17 @@ public class Employee implements Serializable {
     public String getPhone() {
         return phone;
     }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
     public String getEmployeeCode() {
         return employeeCode;
     }
@@ -75,6 +108,14 @@ public class Employee implements Serializable {
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
 
     @Override
     public String toString() {
@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
 
 @Entity
 @Table(name = "users",
@@ -31,6 +34,14 @@ public class User {
     @Column(nullable = false)
     private String role = "USER"; // Default role
 
+    // Tokens issued at or before this instant are rejected
+    private Instant tokensRevokedAt;
+
+    // Refresh tokens carry the family they were issued in; bumping it invalidates all of them
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int tokenFamily;
+
     // Constructors
     public User() {}
 
@@ -53,6 +64,12 @@ public class User {
     public String getRole() { return role; }
     public void setRole(String role) { this.role = role; }
 
+    public Instant getTokensRevokedAt() { return tokensRevokedAt; }
+    public void setTokensRevokedAt(Instant tokensRevokedAt) { this.tokensRevokedAt = tokensRevokedAt; }
+
+    public int getTokenFamily() { return tokenFamily; }
+    public void setTokenFamily(int tokenFamily) { this.tokenFamily = tokenFamily; }
+
     // Helper method for admin check
     public boolean isAdmin() {
         return "ADMIN".equals(this.role);
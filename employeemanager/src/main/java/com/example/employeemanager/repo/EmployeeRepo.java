@@ -1,15 +1,93 @@
 package com.example.employeemanager.repo;
 
+import com.example.employeemanager.dto.EmployeeDTO;
 import com.example.employeemanager.model.Employee;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepo extends JpaRepository<Employee, Long> {
-    void deleteEmployeeById(Long id);
+public interface EmployeeRepo extends JpaRepository<Employee, Long>, EmployeeRepoCustom {
+    interface GroupCount {
+        String getKey();
+        long getCount();
+    }
+
+    // Just enough of a row to keep caches and counters right around set-based writes
+    interface EmployeeKey {
+        Long getId();
+        String getStatus();
+        String getJobTitle();
+    }
 
 
     Optional<Employee> findEmployeeById(Long id);
+    Optional<Employee> findByEmployeeCode(String employeeCode);
+    // Highest code in the 13-character Snowflake format; older codes have other lengths
+    @Query("select max(e.employeeCode) from Employee e where length(e.employeeCode) = 13")
+    Optional<String> findLatestEmployeeCode();
     List<Employee> findByStatus(String status);
+
+    // Keyset page: seeks past the last id seen instead of skipping an offset
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Forward-only cursor for bulk export; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAllByOrderByIdAsc();
+
+    @Query("select e.status as key, count(e) as count from Employee e group by e.status")
+    List<GroupCount> countByStatus();
+
+    @Query("select e.jobTitle as key, count(e) as count from Employee e group by e.jobTitle")
+    List<GroupCount> countByJobTitle();
+
+    // Summary projections: constructor expressions skip entity hydration and dirty tracking
+    @Query("select new com.example.employeemanager.dto.EmployeeDTO(e.id, e.name, e.email, e.jobTitle, e.status) "
+            + "from Employee e order by e.id")
+    List<EmployeeDTO> findAllSummaries();
+
+    @Query("select new com.example.employeemanager.dto.EmployeeDTO(e.id, e.name, e.email, e.jobTitle, e.status) "
+            + "from Employee e where e.status = :status order by e.id")
+    List<EmployeeDTO> findSummariesByStatus(@Param("status") String status);
+
+    @Query("select new com.example.employeemanager.dto.EmployeeDTO(e.id, e.name, e.email, e.jobTitle, e.status) "
+            + "from Employee e where e.id > :id order by e.id")
+    List<EmployeeDTO> findSummariesAfter(@Param("id") Long id, Limit limit);
+
+    // Key lookups lock their rows (select ... for update) until the bulk statement in the same
+    // transaction has run, so the previous status and job title reported in events are still true
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id as id, e.status as status, e.jobTitle as jobTitle from Employee e where e.id in :ids")
+    List<EmployeeKey> findKeysByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id as id, e.status as status, e.jobTitle as jobTitle from Employee e "
+            + "where e.status = :status and e.id > :afterId order by e.id")
+    List<EmployeeKey> findKeysByStatusAfter(@Param("status") String status, @Param("afterId") Long afterId, Limit limit);
+
+    @Modifying
+    @Query("update Employee e set e.status = :status, e.version = e.version + 1 where e.id in :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    @Modifying
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,11 @@
+package com.example.employeemanager.repo;
+
+import com.example.employeemanager.dto.EmployeePatch;
+
+public interface EmployeeRepoCustom {
+    /**
+     * Writes only the non-null fields of {@code patch} and bumps the version, provided the row
+     * is still at {@code expectedVersion}. Returns the number of rows updated (0 or 1).
+     */
+    int patchIfVersionMatches(Long id, long expectedVersion, EmployeePatch patch);
+}
@@ -0,0 +1,35 @@
+package com.example.employeemanager.repo;
+
+import com.example.employeemanager.dto.EmployeePatch;
+import com.example.employeemanager.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+class EmployeeRepoCustomImpl implements EmployeeRepoCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int patchIfVersionMatches(Long id, long expectedVersion, EmployeePatch patch) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> employee = update.from(Employee.class);
+        set(update, "name", patch.getName());
+        set(update, "email", patch.getEmail());
+        set(update, "jobTitle", patch.getJobTitle());
+        set(update, "phone", patch.getPhone());
+        set(update, "status", patch.getStatus());
+        update.set(employee.<Long>get("version"), cb.sum(employee.<Long>get("version"), 1L));
+        update.where(cb.equal(employee.get("id"), id), cb.equal(employee.get("version"), expectedVersion));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private static void set(CriteriaUpdate<Employee> update, String attribute, String value) {
+        if (value != null) {
+            update.set(attribute, value);
+        }
+    }
+}
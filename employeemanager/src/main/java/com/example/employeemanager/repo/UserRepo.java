@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +19,6 @@ public interface UserRepo extends JpaRepository<User, Long> {
     Optional<User> findAdminByUsername(String username);
 
     long countByRole(String role);
+
+    List<User> findByTokensRevokedAtIsNotNull();
 }
\ No newline at end of file
@@ -2,12 +2,17 @@ package com.example.employeemanager.resource;
 
 import com.example.employeemanager.dto.LoginRequest;
 import com.example.employeemanager.dto.RegisterRequest;
+import com.example.employeemanager.jwt.JwtClaims;
 import com.example.employeemanager.jwt.JwtUtil;
 import com.example.employeemanager.model.User;
 import com.example.employeemanager.repo.UserRepo;
 import com.example.employeemanager.service.RefreshTokenService;
 import com.example.employeemanager.model.RefreshToken;
+import com.example.employeemanager.security.LoginThrottle;
+import com.example.employeemanager.security.PasswordHashingExecutor;
+import com.example.employeemanager.security.TokenRevocationService;
 
+import io.jsonwebtoken.JwtException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -19,6 +24,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -35,6 +42,9 @@ import org.springframework.web.bind.annotation.*;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -48,19 +58,34 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
     private final RefreshTokenService refreshTokenService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginThrottle loginThrottle;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean signedRefreshTokens;
+
+    @Value("${auth.login.retry-after-seconds:1}")
+    private long loginRetryAfterSeconds;
 
     public AuthController(UserRepo userRepo,
                           PasswordEncoder passwordEncoder,
                           AuthenticationManager authenticationManager,
                           JwtUtil jwtUtil,
                           UserDetailsService userDetailsService,
-                          RefreshTokenService refreshTokenService) {
+                          RefreshTokenService refreshTokenService,
+                          PasswordHashingExecutor passwordHashingExecutor,
+                          LoginThrottle loginThrottle,
+                          TokenRevocationService tokenRevocationService,
+                          @Value("${jwt.refresh.mode:database}") String refreshMode) {
         this.userRepo = userRepo;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
         this.refreshTokenService = refreshTokenService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.loginThrottle = loginThrottle;
+        this.tokenRevocationService = tokenRevocationService;
+        this.signedRefreshTokens = "signed".equalsIgnoreCase(refreshMode);
     }
 
     @Operation(summary = "Register a new user", description = "Creates a new user account")
@@ -105,10 +130,35 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Authentication successful",
                     content = @Content(schema = @Schema(implementation = Map.class),
                             examples = @ExampleObject(value = "{\"token\": \"eyJhbGciOiJIUzI1NiJ9...\", \"username\": \"testuser\"}"))),
-            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid credentials"),
+            @ApiResponse(responseCode = "429", description = "Too many failed login attempts for this username or address"),
+            @ApiResponse(responseCode = "503", description = "Login capacity exhausted, retry after the Retry-After delay")
     })
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest,
+                                                      HttpServletRequest request) {
+        // With server.forward-headers-strategy=native Tomcat has already replaced the remote
+        // address with the client from X-Forwarded-For, trusting it only from internal proxies
+        String ip = request.getRemoteAddr();
+        if (loginThrottle.isBlocked(loginRequest.getUsername(), ip)) {
+            ResponseEntity<?> throttled = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginThrottle.getRetryAfterSeconds()))
+                    .body(Map.of("error", "Too many login attempts"));
+            return CompletableFuture.completedFuture(throttled);
+        }
+
+        // BCrypt runs on the bounded hashing pool; the request thread is released meanwhile
+        try {
+            return passwordHashingExecutor.submit(() -> authenticate(loginRequest, ip));
+        } catch (RejectedExecutionException e) {
+            ResponseEntity<?> busy = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginRetryAfterSeconds))
+                    .body(Map.of("error", "Login service is busy, please retry shortly"));
+            return CompletableFuture.completedFuture(busy);
+        }
+    }
+
+    private ResponseEntity<?> authenticate(LoginRequest loginRequest, String ip) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -124,12 +174,26 @@ public class AuthController {
                     .map(GrantedAuthority::getAuthority)
                     .collect(Collectors.toList());
 
+            if (signedRefreshTokens) {
+                // Each login starts its own rotation chain, so sessions on other devices are unaffected
+                String refreshToken = jwtUtil.generateRefreshToken(userDetails.getUsername(), roles,
+                        tokenRevocationService.currentFamily(userDetails.getUsername()),
+                        UUID.randomUUID().toString(), 0);
+                return ResponseEntity.ok(Map.of(
+                        "token", token,
+                        "refreshToken", refreshToken,
+                        "username", userDetails.getUsername(),
+                        "roles", roles
+                ));
+            }
+
             return ResponseEntity.ok(Map.of(
                     "token", token,
                     "username", userDetails.getUsername(),
                     "roles", roles
             ));
         } catch (BadCredentialsException e) {
+            loginThrottle.recordFailure(loginRequest.getUsername(), ip);
             return ResponseEntity.status(401).body(Map.of("error", "Invalid credentials"));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of(
@@ -155,6 +219,10 @@ public class AuthController {
                     .body(Map.of("error", "Missing refresh token"));
         }
 
+        if (signedRefreshTokens) {
+            return refreshSignedToken(requestToken);
+        }
+
         return refreshTokenService.findByToken(requestToken)
                 .map(refreshToken -> {
                     if (refreshTokenService.isExpired(refreshToken)) {
@@ -177,6 +245,62 @@ public class AuthController {
                         .body(Map.of("error", "Invalid refresh token")));
     }
 
+    @Operation(summary = "Log out", description = "Revokes the signed refresh token sent in the Authorization header")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Refresh token revoked"),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid refresh token")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(HttpServletRequest request) {
+        String requestToken = getTokenFromRequest(request);
+        if (requestToken == null || !signedRefreshTokens) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Missing refresh token"));
+        }
+        try {
+            tokenRevocationService.revokeRefreshToken(jwtUtil.parseRefreshToken(requestToken));
+            return ResponseEntity.ok(Map.of("message", "Logged out"));
+        } catch (JwtException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Invalid refresh token"));
+        }
+    }
+
+    /**
+     * Verifies a signed refresh token locally and rotates it. Only in-memory revocation state
+     * is consulted, so this path never touches the database unless token reuse is detected.
+     */
+    private ResponseEntity<?> refreshSignedToken(String requestToken) {
+        JwtClaims claims;
+        try {
+            claims = jwtUtil.parseRefreshToken(requestToken);
+        } catch (JwtException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Invalid refresh token"));
+        }
+
+        switch (tokenRevocationService.consumeRefreshToken(claims)) {
+            case REUSED:
+                // A rotated token came back: assume it was stolen and cut off the whole family
+                tokenRevocationService.revokeTokens(claims.getSubject());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Refresh token reuse detected, please log in again"));
+            case REVOKED:
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Refresh token revoked"));
+            default:
+                break;
+        }
+
+        String newAccessToken = jwtUtil.generateAccessToken(claims.getSubject(), claims.getRoles());
+        String newRefreshToken = jwtUtil.generateRefreshToken(claims.getSubject(), claims.getRoles(),
+                claims.getFamily(), claims.getSessionId(), claims.getGeneration() + 1);
+        return ResponseEntity.ok(Map.of(
+                "token", newAccessToken,
+                "refreshToken", newRefreshToken
+        ));
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
@@ -0,0 +1,58 @@
+package com.example.employeemanager.resource;
+
+import com.example.employeemanager.jwt.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@Tag(name = "Cache Administration", description = "Cache sizing and hit-rate statistics")
+@SecurityRequirement(name = "bearerAuth")
+public class CacheStatsResource {
+    private final CacheManager cacheManager;
+    private final JwtUtil jwtUtil;
+
+    public CacheStatsResource(CacheManager cacheManager, JwtUtil jwtUtil) {
+        this.cacheManager = cacheManager;
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Operation(summary = "Get cache statistics", description = "Returns hit, miss and eviction counters for every cache")
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof Cache<?, ?> caffeineCache) {
+                stats.put(name, describe(caffeineCache));
+            }
+        }
+        if (jwtUtil.getVerifiedTokenCache() != null) {
+            stats.put("verifiedTokens", describe(jwtUtil.getVerifiedTokenCache()));
+        }
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", cache.estimatedSize());
+        values.put("hits", stats.hitCount());
+        values.put("misses", stats.missCount());
+        values.put("hitRate", stats.hitRate());
+        values.put("evictions", stats.evictionCount());
+        return values;
+    }
+}
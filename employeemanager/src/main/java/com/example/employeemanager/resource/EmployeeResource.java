@@ -1,7 +1,26 @@
 package com.example.employeemanager.resource;
 
+import com.example.employeemanager.dto.EmployeeAggregates;
+import com.example.employeemanager.dto.EmployeeBulkRequest;
+import com.example.employeemanager.dto.EmployeeBulkResult;
+import com.example.employeemanager.dto.EmployeeDTO;
+import com.example.employeemanager.dto.EmployeeImportResult;
+import com.example.employeemanager.dto.EmployeePage;
+import com.example.employeemanager.dto.EmployeePatch;
+import com.example.employeemanager.dto.EmployeeSearchResult;
+import com.example.employeemanager.exception.EmployeeVersionConflictException;
+import com.example.employeemanager.jwt.JwtUtil;
 import com.example.employeemanager.model.Employee;
+import com.example.employeemanager.service.AvatarStore;
+import com.example.employeemanager.service.EmployeeAggregateCounters;
+import com.example.employeemanager.service.EmployeeBulkService;
+import com.example.employeemanager.service.EmployeeChangeFeed;
+import com.example.employeemanager.service.EmployeeExportService;
+import com.example.employeemanager.service.EmployeeImportService;
+import com.example.employeemanager.service.EmployeeSearchIndex;
 import com.example.employeemanager.service.EmployeeService;
+import com.example.employeemanager.service.EmployeeTableVersion;
+import com.example.employeemanager.service.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -11,43 +30,188 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 @CrossOrigin(origins = "http://localhost:4200")
 @RestController
 @RequestMapping("/employee")
 @Tag(name = "Employee Management", description = "Endpoints for managing employees")
 @SecurityRequirement(name = "bearerAuth")
 public class EmployeeResource {
+    // Let browsers keep a copy but revalidate it with If-None-Match on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final EmployeeService employeeService;
+    private final EmployeeExportService employeeExportService;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final EmployeeAggregateCounters employeeAggregateCounters;
+    private final EmployeeBulkService employeeBulkService;
+    private final EmployeeChangeFeed employeeChangeFeed;
+    private final AvatarStore avatarStore;
+    private final EmployeeTableVersion employeeTableVersion;
+    private final JwtUtil jwtUtil;
 
-    public EmployeeResource(EmployeeService employeeService) {
+    public EmployeeResource(EmployeeService employeeService,
+                            EmployeeExportService employeeExportService,
+                            EmployeeImportService employeeImportService,
+                            EmployeeSearchIndex employeeSearchIndex,
+                            EmployeeAggregateCounters employeeAggregateCounters,
+                            EmployeeBulkService employeeBulkService,
+                            EmployeeChangeFeed employeeChangeFeed,
+                            AvatarStore avatarStore,
+                            EmployeeTableVersion employeeTableVersion,
+                            JwtUtil jwtUtil) {
         this.employeeService = employeeService;
+        this.employeeExportService = employeeExportService;
+        this.employeeImportService = employeeImportService;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.employeeAggregateCounters = employeeAggregateCounters;
+        this.employeeBulkService = employeeBulkService;
+        this.employeeChangeFeed = employeeChangeFeed;
+        this.avatarStore = avatarStore;
+        this.employeeTableVersion = employeeTableVersion;
+        this.jwtUtil = jwtUtil;
     }
 
     @Operation(summary = "Get all employees", description = "Returns a list of all employees")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
             content = @Content(schema = @Schema(implementation = Employee.class)))
     @GetMapping("/all")
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        List<Employee> employees = employeeService.findAllEmployees();
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+    public ResponseEntity<List<Employee>> getAllEmployees(WebRequest request) {
+        return conditionalList(request, version -> employeeService.findAllEmployees());
+    }
+
+    @Operation(summary = "Get a page of employees",
+            description = "Returns employees ordered by ID using keyset pagination. Pass the returned nextCursor to fetch the following page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping("/page")
+    public ResponseEntity<EmployeePage<Employee>> getEmployeesPage(
+            @Parameter(name = "cursor", description = "Cursor returned by the previous page, omit for the first page")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(name = "size", description = "Page size, capped by employee.page.max-size")
+            @RequestParam(value = "size", required = false) Integer size) {
+        EmployeePage<Employee> page = employeeService.findEmployeesPage(cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get employee summaries",
+            description = "Returns id, name, email, job title and status of all employees, without loading full entities")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
+            content = @Content(schema = @Schema(implementation = EmployeeDTO.class)))
+    @GetMapping("/summary/all")
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployeeSummaries(WebRequest request) {
+        return conditionalList(request, version -> employeeService.findAllEmployeeSummaries());
+    }
+
+    @Operation(summary = "Get employee summaries by status", description = "Returns employee summaries filtered by status")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved filtered list",
+            content = @Content(schema = @Schema(implementation = EmployeeDTO.class)))
+    @GetMapping("/summary/status/{status}")
+    public ResponseEntity<List<EmployeeDTO>> getEmployeeSummariesByStatus(
+            @Parameter(name = "status", description = "Status to filter by (ACTIVE/INACTIVE)", required = true)
+            @PathVariable("status") String status,
+            WebRequest request) {
+        return conditionalList(request, version -> employeeService.findEmployeeSummariesByStatus(status));
+    }
+
+    @Operation(summary = "Get a page of employee summaries",
+            description = "Keyset-paginated employee summaries ordered by ID. Pass the returned nextCursor to fetch the following page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping("/summary/page")
+    public ResponseEntity<EmployeePage<EmployeeDTO>> getEmployeeSummariesPage(
+            @Parameter(name = "cursor", description = "Cursor returned by the previous page, omit for the first page")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(name = "size", description = "Page size, capped by employee.page.max-size")
+            @RequestParam(value = "size", required = false) Integer size) {
+        EmployeePage<EmployeeDTO> page = employeeService.findEmployeeSummariesPage(cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Search employees",
+            description = "Ranked search over name, email and job title. Matches whole words, word prefixes and substrings of three or more characters")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved results",
+            content = @Content(schema = @Schema(implementation = EmployeeSearchResult.class)))
+    @GetMapping("/search")
+    public ResponseEntity<EmployeeSearchResult> searchEmployees(
+            @Parameter(name = "q", description = "Search terms, all of which must match", required = true)
+            @RequestParam("q") String query,
+            @Parameter(name = "page", description = "Zero-based page number")
+            @RequestParam(value = "page", required = false) Integer page,
+            @Parameter(name = "size", description = "Page size, capped by employee.page.max-size")
+            @RequestParam(value = "size", required = false) Integer size) {
+        EmployeeSearchResult result = employeeSearchIndex.search(query, page, size);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Export all employees",
+            description = "Streams every employee straight from the database as NDJSON or CSV without loading the table into memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export stream started"),
+            @ApiResponse(responseCode = "400", description = "Unknown export format")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @Parameter(name = "format", description = "Export format (NDJSON/CSV)")
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = out -> employeeExportService.exportEmployees(format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"employees." + format.getExtension() + "\"")
+                .body(body);
     }
 
     @Operation(summary = "Get employee by ID", description = "Returns a single employee by their ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee found",
                     content = @Content(schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "304", description = "Employee unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Employee not found")
     })
     @GetMapping("/find/{id}")
     public ResponseEntity<Employee> getEmployeeById(
             @Parameter(name = "id", description = "ID of the employee to find", required = true, in = ParameterIn.PATH)
-            @PathVariable("id") Long id) {
-        Employee employee = employeeService.findEmployeeById(id);
+            @PathVariable("id") Long id,
+            WebRequest request) {
+        String etag = employeeETag(id, employeeService.findEmployeeVersion(id));
+        return conditional(request, etag, () -> employeeService.findEmployeeById(id));
+    }
+
+    @Operation(summary = "Get employee by code", description = "Returns the employee with the given employee code")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employee found",
+                    content = @Content(schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "404", description = "Employee not found")
+    })
+    @GetMapping("/code/{code}")
+    public ResponseEntity<Employee> getEmployeeByCode(
+            @Parameter(description = "Employee code", required = true, example = "0C9Q8M2K40001")
+            @PathVariable("code") String code) {
+        Employee employee = employeeService.findEmployeeByCode(code);
         return new ResponseEntity<>(employee, HttpStatus.OK);
     }
 
@@ -57,9 +221,19 @@ public class EmployeeResource {
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Employee>> getEmployeesByStatus(
             @Parameter(name = "status", description = "Status to filter by (ACTIVE/INACTIVE)", required = true)
-            @PathVariable("status") String status) {
-        List<Employee> employees = employeeService.findEmployeesByStatus(status);
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+            @PathVariable("status") String status,
+            WebRequest request) {
+        return conditionalList(request, version -> employeeService.findEmployeesByStatus(status, version));
+    }
+
+    @Operation(summary = "Get employee counts",
+            description = "Returns employee counts per status and per job title from in-memory counters")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved counts",
+            content = @Content(schema = @Schema(implementation = EmployeeAggregates.class)))
+    @GetMapping("/aggregates")
+    public ResponseEntity<EmployeeAggregates> getEmployeeAggregates() {
+        EmployeeAggregates aggregates = employeeAggregateCounters.getAggregates();
+        return new ResponseEntity<>(aggregates, HttpStatus.OK);
     }
 
     @Operation(summary = "Add a new employee", description = "Creates a new employee record")
@@ -76,18 +250,93 @@ public class EmployeeResource {
         return new ResponseEntity<>(newEmployee, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Update employee", description = "Updates an existing employee record")
+    @Operation(summary = "Bulk import employees",
+            description = "Imports employees from a JSON array or an NDJSON stream in batches. Invalid rows are reported and skipped")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see errors for rejected rows",
+                    content = @Content(schema = @Schema(implementation = EmployeeImportResult.class)))
+    })
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<EmployeeImportResult> importEmployees(HttpServletRequest request) throws IOException {
+        EmployeeImportResult result = employeeImportService.importEmployees(request.getInputStream());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Update employee",
+            description = "Updates an existing employee record. The version the change is based on must be sent "
+                    + "as If-Match (the ETag from find, or * for any version) or as the version field")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee updated successfully",
                     content = @Content(schema = @Schema(implementation = Employee.class))),
-            @ApiResponse(responseCode = "404", description = "Employee not found")
+            @ApiResponse(responseCode = "404", description = "Employee not found"),
+            @ApiResponse(responseCode = "409", description = "Employee was modified since the given version"),
+            @ApiResponse(responseCode = "428", description = "Neither If-Match nor version was supplied")
     })
     @PutMapping("/update")
     public ResponseEntity<Employee> updateEmployee(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Employee object with updated information", required = true)
             @RequestBody Employee employee) {
+        if (ifMatch != null) {
+            // A null version updates whatever version is current
+            employee.setVersion(matchesAnyVersion(ifMatch) ? null : versionFromETag(employee.getId(), ifMatch));
+        } else if (employee.getVersion() == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
         Employee updateEmployee = employeeService.updateEmployee(employee);
-        return new ResponseEntity<>(updateEmployee, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(weakETag(employeeETag(updateEmployee.getId(), updateEmployee.getVersion())))
+                .body(updateEmployee);
+    }
+
+    @Operation(summary = "Patch employee",
+            description = "Updates only the supplied fields. The version the change is based on must be sent "
+                    + "as If-Match (the ETag from find, or * for any version) or as the version field")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employee updated successfully",
+                    content = @Content(schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "404", description = "Employee not found"),
+            @ApiResponse(responseCode = "409", description = "Employee was modified since the given version"),
+            @ApiResponse(responseCode = "428", description = "Neither If-Match nor version was supplied")
+    })
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<Employee> patchEmployee(
+            @Parameter(description = "ID of the employee to update", required = true)
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody EmployeePatch patch) {
+        Long version;
+        if (ifMatch != null) {
+            version = matchesAnyVersion(ifMatch) ? employeeService.findEmployeeVersion(id) : versionFromETag(id, ifMatch);
+        } else {
+            version = patch.getVersion();
+        }
+        if (version == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        Employee patched = employeeService.patchEmployee(id, version, patch);
+        return ResponseEntity.ok().eTag(weakETag(employeeETag(id, patched.getVersion()))).body(patched);
+    }
+
+    @Operation(summary = "Upload avatar",
+            description = "Stores a square thumbnail of the uploaded image and points the employee's imageUrl at it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Avatar stored",
+                    content = @Content(schema = @Schema(implementation = Employee.class))),
+            @ApiResponse(responseCode = "400", description = "Not a readable image"),
+            @ApiResponse(responseCode = "404", description = "Employee not found"),
+            @ApiResponse(responseCode = "413", description = "Upload too large")
+    })
+    @PutMapping(value = "/avatar/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Employee> uploadAvatar(
+            @Parameter(description = "ID of the employee", required = true)
+            @PathVariable("id") Long id,
+            @Parameter(description = "Image file (JPEG, PNG, GIF or BMP)", required = true)
+            @RequestParam("file") MultipartFile file) throws IOException {
+        // Fail before storing anything for an unknown employee
+        employeeService.findEmployeeVersion(id);
+        String name = avatarStore.store(file.getInputStream());
+        Employee updated = employeeService.updateImageUrl(id, AvatarStore.URL_PREFIX + name);
+        return new ResponseEntity<>(updated, HttpStatus.OK);
     }
 
     @Operation(summary = "Delete employee", description = "Deletes an employee by ID")
@@ -102,4 +351,126 @@ public class EmployeeResource {
         employeeService.deleteEmployee(id);
         return new ResponseEntity<>(HttpStatus.OK);
     }
+
+    @Operation(summary = "Bulk status change",
+            description = "Sets the status of the employees selected by ids or whereStatus. Runs in chunks, "
+                    + "each committed separately; admin only")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status changed",
+                    content = @Content(schema = @Schema(implementation = EmployeeBulkResult.class))),
+            @ApiResponse(responseCode = "400", description = "Missing status, or not exactly one of ids and whereStatus")
+    })
+    @PostMapping("/bulk/status")
+    public ResponseEntity<EmployeeBulkResult> bulkUpdateStatus(@RequestBody EmployeeBulkRequest request) {
+        EmployeeBulkResult result = employeeBulkService.updateStatus(request);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Bulk delete",
+            description = "Deletes the employees selected by ids or whereStatus. Runs in chunks, "
+                    + "each committed separately; admin only")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees deleted",
+                    content = @Content(schema = @Schema(implementation = EmployeeBulkResult.class))),
+            @ApiResponse(responseCode = "400", description = "Not exactly one of ids and whereStatus")
+    })
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<EmployeeBulkResult> bulkDelete(@RequestBody EmployeeBulkRequest request) {
+        EmployeeBulkResult result = employeeBulkService.delete(request);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Employee change feed",
+            description = "Server-Sent Events stream of employee changes (event name employee). Reconnect with "
+                    + "Last-Event-ID to resume; a resync event means changes were missed and the list must be reloaded. "
+                    + "Browsers using EventSource, which cannot send an Authorization header, authenticate with "
+                    + "?access_token= carrying a token from POST /employee/feed/token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "401", description = "Missing, expired or invalid token"),
+            @ApiResponse(responseCode = "503", description = "Too many open feed connections")
+    })
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> employeeFeed(
+            @Parameter(description = "Sequence of the last event received, sent automatically by EventSource")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @Parameter(description = "Resume point for a new EventSource opened after its feed token expired; "
+                    + "Last-Event-ID takes precedence")
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam) {
+        SseEmitter emitter = employeeChangeFeed.subscribe(lastEventId != null ? lastEventId : lastEventIdParam);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+
+    @Operation(summary = "Issue a change feed token",
+            description = "Returns a short-lived token that only opens GET /employee/feed, to pass as ?access_token= "
+                    + "from clients that cannot set headers. The token is checked when the stream opens; an open "
+                    + "stream outlives it, but a reconnect needs a fresh one")
+    @ApiResponse(responseCode = "200", description = "Token issued")
+    @PostMapping("/feed/token")
+    public ResponseEntity<Map<String, Object>> issueFeedToken(Authentication authentication) {
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        String token = jwtUtil.generateFeedToken(authentication.getName(), roles);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(Map.of("token", token, "expiresIn", jwtUtil.getFeedTokenExpiration() / 1000));
+    }
+
+    /**
+     * Answers 304 when If-None-Match carries {@code etag}, before the body is ever loaded.
+     * The tag is weak because it names the data, not the bytes: the same version may be sent
+     * as JSON, CBOR or Smile, gzipped or not.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        String weak = weakETag(etag);
+        if (request.checkNotModified(weak)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(weak).cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(weak).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+
+    private static String weakETag(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+
+    private static String employeeETag(Long id, long version) {
+        return "e" + id + "v" + version;
+    }
+
+    // If-Match: * matches any current representation, so only the employee has to exist
+    private static boolean matchesAnyVersion(String ifMatch) {
+        return "*".equals(ifMatch.trim());
+    }
+
+    /**
+     * Version named by an If-Match tag. Weak tags are accepted even though If-Match calls for
+     * strong comparison: every employee ETag this API hands out is weak, because it names the
+     * version rather than the bytes of one encoding, and the version is exactly what the
+     * conditional update compares.
+     */
+    private static Long versionFromETag(Long id, String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        String prefix = "\"e" + id + "v";
+        if (tag.startsWith(prefix) && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        throw new EmployeeVersionConflictException("If-Match " + ifMatch + " does not identify a version of employee " + id);
+    }
+
+    // Every list endpoint shares the table's version as its tag, read in the same snapshot as the list
+    private <T> ResponseEntity<T> conditionalList(WebRequest request, Function<String, T> body) {
+        return employeeTableVersion.read(version -> conditional(request, "t" + version, () -> body.apply(version)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.employeemanager.resource;
+
+import com.example.employeemanager.security.TokenRevocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@Tag(name = "User Administration", description = "Administrative operations on user accounts")
+@SecurityRequirement(name = "bearerAuth")
+public class UserAdminResource {
+    private final TokenRevocationService tokenRevocationService;
+
+    public UserAdminResource(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Operation(summary = "Revoke a user's tokens", description = "Rejects every token issued to the user up to now")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens revoked"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @PostMapping("/{username}/revoke-tokens")
+    public ResponseEntity<Map<String, String>> revokeTokens(
+            @Parameter(name = "username", description = "User whose tokens should be revoked", required = true)
+            @PathVariable("username") String username) {
+        Instant revokedAt = tokenRevocationService.revokeTokens(username);
+        return new ResponseEntity<>(Map.of(
+                "username", username,
+                "revokedBefore", revokedAt.toString()
+        ), HttpStatus.OK);
+    }
+}
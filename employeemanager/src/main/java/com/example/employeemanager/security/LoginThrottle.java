@@ -0,0 +1,64 @@
+package com.example.employeemanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window failed-login counters per username and per client IP. Checked before any
+ * password hashing so brute-force traffic is turned away without costing BCrypt work; only
+ * rejected credentials count, so legitimate logins never lock anyone out.
+ */
+@Component
+public class LoginThrottle {
+    private final Cache<String, AtomicInteger> failuresByUsername;
+    private final Cache<String, AtomicInteger> failuresByIp;
+    private final int maxAttemptsPerUsername;
+    private final int maxAttemptsPerIp;
+    private final long windowSeconds;
+
+    public LoginThrottle(@Value("${auth.login.max-attempts-per-username:10}") int maxAttemptsPerUsername,
+                         @Value("${auth.login.max-attempts-per-ip:50}") int maxAttemptsPerIp,
+                         @Value("${auth.login.attempt-window:1m}") Duration window) {
+        this.maxAttemptsPerUsername = maxAttemptsPerUsername;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.windowSeconds = Math.max(window.toSeconds(), 1);
+        this.failuresByUsername = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();
+        this.failuresByIp = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();
+    }
+
+    /**
+     * @return {@code true} if the username or the address has used up its failed attempts
+     *         for the current window
+     */
+    public boolean isBlocked(String username, String ip) {
+        return failures(failuresByUsername, username) >= maxAttemptsPerUsername
+                || failures(failuresByIp, ip) >= maxAttemptsPerIp;
+    }
+
+    /**
+     * Counts a login rejected for bad credentials against both the username and the address.
+     */
+    public void recordFailure(String username, String ip) {
+        increment(failuresByUsername, username);
+        increment(failuresByIp, ip);
+    }
+
+    public long getRetryAfterSeconds() {
+        return windowSeconds;
+    }
+
+    private static int failures(Cache<String, AtomicInteger> counters, String key) {
+        AtomicInteger count = counters.getIfPresent(key == null ? "" : key);
+        return count == null ? 0 : count.get();
+    }
+
+    private static void increment(Cache<String, AtomicInteger> counters, String key) {
+        // expireAfterWrite is not reset by incrementing, so each window starts at the first failure
+        counters.get(key == null ? "" : key, k -> new AtomicInteger()).incrementAndGet();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.employeemanager.security;
 
 import com.example.employeemanager.jwt.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -37,9 +38,10 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowedOrigins(List.of("http://localhost:4200"));
-        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type"));
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        // Conditional requests: the SPA reads ETag and sends it back as If-None-Match / If-Match
+        config.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type", "If-Match", "If-None-Match"));
+        config.setExposedHeaders(List.of("Authorization", "ETag"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
@@ -65,8 +67,17 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        .requestMatchers("/error").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Avatars are loaded by <img> tags, which cannot send a bearer token; names are content hashes
+                        .requestMatchers("/avatars/**").permitAll()
+                        // Streaming responses re-dispatch asynchronously after the original request was authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Includes the Prometheus scrape endpoint: metrics name every route, pool and cache
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/employee/bulk/**").hasRole("ADMIN")
                         .requestMatchers("/api/employees/**").hasAnyRole("USER", "ADMIN")
 
                         .anyRequest().authenticated()
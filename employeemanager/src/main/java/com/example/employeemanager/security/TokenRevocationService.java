@@ -0,0 +1,165 @@
+package com.example.employeemanager.security;
+
+import com.example.employeemanager.exception.UserNotFoundException;
+import com.example.employeemanager.jwt.JwtClaims;
+import com.example.employeemanager.model.User;
+import com.example.employeemanager.repo.UserRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a per-user "tokens issued before" watermark and refresh token family in memory so
+ * tokens can be rejected without a database lookup. Both are persisted on the user and
+ * re-read periodically, so revocations made on another instance are picked up within one
+ * refresh interval. Refresh token chains are tracked per instance only.
+ */
+@Service
+public class TokenRevocationService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    public enum RefreshTokenStatus { VALID, REVOKED, REUSED }
+
+    private final UserRepo userRepo;
+    private final long refreshTokenExpiration;
+    private final Map<String, Instant> revokedBefore = new ConcurrentHashMap<>();
+    private final Map<String, Integer> tokenFamilies = new ConcurrentHashMap<>();
+    // Latest generation issued in each refresh token chain (one chain per login). An entry
+    // expires with the newest token of its chain and is never evicted for size, so every
+    // rotated token is rejected for as long as it could still be presented
+    private final Cache<String, RefreshChain> refreshChains;
+
+    public TokenRevocationService(UserRepo userRepo,
+                                  @Value("${jwt.expiration.refresh}") long refreshTokenExpiration) {
+        this.userRepo = userRepo;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.refreshChains = Caffeine.newBuilder()
+                .expireAfter(new RefreshChainExpiry())
+                .build();
+    }
+
+    public boolean isRevoked(String username, Date issuedAt) {
+        Instant watermark = revokedBefore.get(username);
+        if (watermark == null) {
+            return false;
+        }
+        // iat only has second precision, so anything issued in the same second is revoked too
+        return issuedAt == null || !issuedAt.toInstant().isAfter(watermark.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    public int currentFamily(String username) {
+        return tokenFamilies.getOrDefault(username, 0);
+    }
+
+    /**
+     * Checks a verified refresh token against the in-memory state and advances its chain,
+     * so each refresh token can be exchanged exactly once. On {@link RefreshTokenStatus#VALID}
+     * the replacement must be issued with generation {@code claims.getGeneration() + 1}.
+     */
+    public RefreshTokenStatus consumeRefreshToken(JwtClaims claims) {
+        String username = claims.getSubject();
+        if (claims.getSessionId() == null || claims.getGeneration() == null
+                || claims.getFamily() == null || claims.getFamily() != currentFamily(username)
+                || isRevoked(username, claims.getIssuedAt())) {
+            return RefreshTokenStatus.REVOKED;
+        }
+        long generation = claims.getGeneration();
+        RefreshTokenStatus[] status = new RefreshTokenStatus[1];
+        refreshChains.asMap().compute(claims.getSessionId(), (sessionId, chain) -> {
+            if (chain != null && chain.loggedOut()) {
+                status[0] = RefreshTokenStatus.REVOKED;
+                return chain;
+            }
+            if (chain != null && generation < chain.generation()) {
+                status[0] = RefreshTokenStatus.REUSED;
+                return chain;
+            }
+            // An unknown chain, or one ahead of ours, was rotated on another instance or before a restart
+            status[0] = RefreshTokenStatus.VALID;
+            return new RefreshChain(generation + 1, false, System.currentTimeMillis() + refreshTokenExpiration);
+        });
+        return status[0];
+    }
+
+    /**
+     * Ends the refresh token chain the token belongs to; none of its tokens can be used again.
+     */
+    public void revokeRefreshToken(JwtClaims claims) {
+        if (claims.getSessionId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        long expiresAt = claims.getExpiration().getTime();
+        refreshChains.asMap().merge(claims.getSessionId(),
+                new RefreshChain(claims.getGeneration() == null ? 0 : claims.getGeneration(), true, expiresAt),
+                (chain, loggedOut) -> new RefreshChain(chain.generation(), true,
+                        Math.max(chain.expiresAtMillis(), expiresAt)));
+    }
+
+    /**
+     * Rejects every access token issued so far and moves the user to a new refresh token family.
+     */
+    @Transactional
+    public Instant revokeTokens(String username) {
+        User user = userRepo.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("User " + username + " was not found"));
+        Instant now = Instant.now();
+        user.setTokensRevokedAt(now);
+        user.setTokenFamily(user.getTokenFamily() + 1);
+        userRepo.save(user);
+        revokedBefore.merge(username, now, TokenRevocationService::latest);
+        tokenFamilies.merge(username, user.getTokenFamily(), Math::max);
+        return now;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:30s}")
+    public void refresh() {
+        int count = 0;
+        for (User user : userRepo.findByTokensRevokedAtIsNotNull()) {
+            revokedBefore.merge(user.getUsername(), user.getTokensRevokedAt(), TokenRevocationService::latest);
+            tokenFamilies.merge(user.getUsername(), user.getTokenFamily(), Math::max);
+            count++;
+        }
+        logger.debug("Refreshed token revocation watermarks for {} users", count);
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private record RefreshChain(long generation, boolean loggedOut, long expiresAtMillis) {}
+
+    private static final class RefreshChainExpiry implements Expiry<String, RefreshChain> {
+        @Override
+        public long expireAfterCreate(String sessionId, RefreshChain chain, long currentTime) {
+            return remaining(chain);
+        }
+
+        @Override
+        public long expireAfterUpdate(String sessionId, RefreshChain chain, long currentTime, long currentDuration) {
+            // Rotation issues a newer token, so the chain lives on until that one expires
+            return remaining(chain);
+        }
+
+        @Override
+        public long expireAfterRead(String sessionId, RefreshChain chain, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long remaining(RefreshChain chain) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(chain.expiresAtMillis() - System.currentTimeMillis(), 0));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.exception.InvalidAvatarException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Avatar thumbnails on the local disk. Every upload is cut to a square JPEG of a fixed size
+ * once, and the result is stored under the SHA-256 of its bytes, so a file never changes
+ * after it is written and identical uploads share one file.
+ */
+@Service
+public class AvatarStore {
+    public static final String URL_PREFIX = "/avatars/";
+
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}\\.jpg");
+
+    private final Path directory;
+    private final int size;
+    private final int maxSourceDimension;
+
+    public AvatarStore(@Value("${employee.avatar.dir:data/avatars}") Path directory,
+                       @Value("${employee.avatar.size:128}") int size,
+                       @Value("${employee.avatar.max-source-dimension:10000}") int maxSourceDimension) {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.size = size;
+        this.maxSourceDimension = maxSourceDimension;
+    }
+
+    /**
+     * Stores a thumbnail of the uploaded image and returns its file name.
+     */
+    public String store(InputStream upload) throws IOException {
+        BufferedImage thumbnail = thumbnail(decode(upload));
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "upload", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), digest)) {
+                if (!ImageIO.write(thumbnail, "jpg", out)) {
+                    throw new IllegalStateException("No JPEG encoder available");
+                }
+            }
+            String name = HexFormat.of().formatHex(digest.digest()) + ".jpg";
+            Path target = path(name);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return name;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The stored file for a name handed out by {@link #store}, or empty if the name is not
+     * one of ours or the file does not exist.
+     */
+    public Optional<Path> find(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        Path file = path(name);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    // Sharded by the first two hex digits so no single directory grows too large
+    private Path path(String name) {
+        return directory.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private BufferedImage decode(InputStream upload) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(upload)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new InvalidAvatarException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > maxSourceDimension || height > maxSourceDimension) {
+                    throw new InvalidAvatarException("Image is larger than " + maxSourceDimension + " pixels per side");
+                }
+                // Decode at no more than about twice the thumbnail size, so a large photo is
+                // never expanded to full resolution on the heap
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.min(width, height) / (size * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } catch (IIOException e) {
+                throw new InvalidAvatarException("Unreadable image: " + e.getMessage());
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Centre crop to a square, scaled onto white so transparent images come out clean
+    private BufferedImage thumbnail(BufferedImage source) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int x = (source.getWidth() - side) / 2;
+        int y = (source.getHeight() - side) / 2;
+        BufferedImage thumbnail = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, size, size);
+            graphics.drawImage(source, 0, 0, size, size, x, y, x + side, y + side, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumbnail;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.config.ReplicaRoutingDataSource;
+import com.example.employeemanager.dto.EmployeeAggregates;
+import com.example.employeemanager.repo.EmployeeRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Employee counts per status and per job title kept in memory. Writes adjust the counters
+ * from {@link EmployeeChangedEvent}s, and a periodic GROUP BY replaces them so any drift
+ * (missed events, writes from outside the application) is corrected. Employees with no
+ * status or job title are only counted in the total.
+ * <p>
+ * The GROUP BY queries run in one repeatable-read snapshot on the primary. Changes committed
+ * while they run are not in that snapshot, so they are buffered and replayed onto the fresh
+ * counters before the swap. A change whose listener runs in the short gap between the buffer
+ * opening and the snapshot being taken is counted twice; the next reconcile corrects it.
+ */
+@Service
+public class EmployeeAggregateCounters {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeAggregateCounters.class);
+
+    private final EmployeeRepo employeeRepo;
+    private final TransactionTemplate snapshotTransaction;
+    // Events apply under the read lock; reconcile takes the write lock to open the buffer and to swap
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Counters counters = new Counters();
+    private Counters pending;
+    private volatile Instant reconciledAt;
+
+    public EmployeeAggregateCounters(EmployeeRepo employeeRepo, PlatformTransactionManager transactionManager) {
+        this.employeeRepo = employeeRepo;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${employee.aggregates.reconcile-interval:5m}",
+            fixedDelayString = "${employee.aggregates.reconcile-interval:5m}")
+    public synchronized void reconcile() {
+        Counters buffer = new Counters();
+        swapLock.writeLock().lock();
+        try {
+            pending = buffer;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Counters fresh = null;
+        Counters previous = counters;
+        try {
+            fresh = ReplicaRoutingDataSource.readFromPrimary(() -> snapshotTransaction.execute(status -> {
+                Counters loaded = new Counters();
+                load(loaded.byStatus, employeeRepo.countByStatus());
+                load(loaded.byJobTitle, employeeRepo.countByJobTitle());
+                loaded.total.add(employeeRepo.count());
+                return loaded;
+            }));
+        } finally {
+            swapLock.writeLock().lock();
+            try {
+                pending = null;
+                if (fresh != null) {
+                    fresh.addAll(buffer);
+                    previous = counters;
+                    counters = fresh;
+                    reconciledAt = Instant.now();
+                }
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+        if (previous.total.sum() != fresh.total.sum()
+                || !snapshot(previous.byStatus).equals(snapshot(fresh.byStatus))
+                || !snapshot(previous.byJobTitle).equals(snapshot(fresh.byJobTitle))) {
+            logger.info("Employee aggregate counters reconciled, total {} -> {}", previous.total.sum(), fresh.total.sum());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            apply(counters, event);
+            if (pending != null) {
+                apply(pending, event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void apply(Counters current, EmployeeChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+                current.total.increment();
+                current.add(event.getEmployee().getStatus(), event.getEmployee().getJobTitle(), 1);
+                break;
+            case UPDATED:
+                current.add(event.getPreviousStatus(), event.getPreviousJobTitle(), -1);
+                current.add(event.getEmployee().getStatus(), event.getEmployee().getJobTitle(), 1);
+                break;
+            case STATUS_CHANGED:
+                current.add(event.getPreviousStatus(), null, -1);
+                current.add(event.getStatus(), null, 1);
+                break;
+            case DELETED:
+                current.total.decrement();
+                current.add(event.getPreviousStatus(), event.getPreviousJobTitle(), -1);
+                break;
+        }
+    }
+
+    public EmployeeAggregates getAggregates() {
+        Counters current = counters;
+        return new EmployeeAggregates(current.total.sum(), snapshot(current.byStatus),
+                snapshot(current.byJobTitle), reconciledAt);
+    }
+
+    private static void load(Map<String, LongAdder> target, List<EmployeeRepo.GroupCount> rows) {
+        for (EmployeeRepo.GroupCount row : rows) {
+            if (row.getKey() != null) {
+                target.computeIfAbsent(row.getKey(), k -> new LongAdder()).add(row.getCount());
+            }
+        }
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((key, adder) -> {
+            long value = adder.sum();
+            if (value > 0) {
+                snapshot.put(key, value);
+            }
+        });
+        return snapshot;
+    }
+
+    private static final class Counters {
+        private final LongAdder total = new LongAdder();
+        private final Map<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byJobTitle = new ConcurrentHashMap<>();
+
+        private void addAll(Counters deltas) {
+            total.add(deltas.total.sum());
+            deltas.byStatus.forEach((key, adder) -> byStatus.computeIfAbsent(key, k -> new LongAdder()).add(adder.sum()));
+            deltas.byJobTitle.forEach((key, adder) -> byJobTitle.computeIfAbsent(key, k -> new LongAdder()).add(adder.sum()));
+        }
+
+        private void add(String status, String jobTitle, long delta) {
+            if (status != null) {
+                byStatus.computeIfAbsent(status, k -> new LongAdder()).add(delta);
+            }
+            if (jobTitle != null) {
+                byJobTitle.computeIfAbsent(jobTitle, k -> new LongAdder()).add(delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.config.CacheConfig;
+import com.example.employeemanager.dto.EmployeeBulkRequest;
+import com.example.employeemanager.dto.EmployeeBulkResult;
+import com.example.employeemanager.exception.InvalidBulkRequestException;
+import com.example.employeemanager.repo.EmployeeRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Status changes and deletes over many employees, run as set-based statements
+ * ({@code ... where id in (...)}) of at most {@code employee.bulk.chunk-size} rows each.
+ * Every chunk is its own transaction, so a large operation never holds locks on the whole
+ * selection and a failure leaves earlier chunks applied.
+ */
+@Service
+public class EmployeeBulkService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBulkService.class);
+
+    private final EmployeeRepo employeeRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${employee.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    public EmployeeBulkService(EmployeeRepo employeeRepo, PlatformTransactionManager transactionManager,
+                               CacheManager cacheManager, ApplicationEventPublisher eventPublisher) {
+        this.employeeRepo = employeeRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public EmployeeBulkResult updateStatus(EmployeeBulkRequest request) {
+        String status = request.getStatus();
+        if (status == null || status.isBlank()) {
+            throw new InvalidBulkRequestException("status is required");
+        }
+        return run("status update", request, status, keys -> {
+            int updated = employeeRepo.updateStatusByIdIn(ids(keys), status);
+            keys.forEach(key -> eventPublisher.publishEvent(
+                    EmployeeChangedEvent.statusChanged(key.getId(), status, key.getStatus(), key.getJobTitle())));
+            return updated;
+        });
+    }
+
+    public EmployeeBulkResult delete(EmployeeBulkRequest request) {
+        return run("delete", request, null, keys -> {
+            int deleted = employeeRepo.deleteByIdIn(ids(keys));
+            keys.forEach(key -> eventPublisher.publishEvent(
+                    EmployeeChangedEvent.deleted(key.getId(), key.getStatus(), key.getJobTitle())));
+            return deleted;
+        });
+    }
+
+    private EmployeeBulkResult run(String operation, EmployeeBulkRequest request, String newStatus,
+                                   ToIntFunction<List<EmployeeRepo.EmployeeKey>> statement) {
+        boolean byIds = request.getIds() != null;
+        boolean byStatus = request.getWhereStatus() != null;
+        if (byIds == byStatus) {
+            throw new InvalidBulkRequestException("Exactly one of ids or whereStatus is required");
+        }
+
+        long start = System.nanoTime();
+        int affected = 0;
+        int chunks = 0;
+        if (byIds) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            ids.removeIf(Objects::isNull);
+            if (ids.isEmpty()) {
+                throw new InvalidBulkRequestException("ids must not be empty");
+            }
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                affected += applyChunk(() -> employeeRepo.findKeysByIdIn(chunk), newStatus, statement).affected();
+                chunks++;
+            }
+        } else {
+            // Keyset over the ids so rows moved out of (or left in) the status are never revisited
+            long afterId = 0;
+            while (true) {
+                long after = afterId;
+                Chunk chunk = applyChunk(() -> employeeRepo.findKeysByStatusAfter(request.getWhereStatus(), after,
+                        Limit.of(chunkSize)), newStatus, statement);
+                if (chunk.keys().isEmpty()) {
+                    break;
+                }
+                affected += chunk.affected();
+                chunks++;
+                afterId = chunk.keys().get(chunk.keys().size() - 1).getId();
+                if (chunk.keys().size() < chunkSize) {
+                    break;
+                }
+            }
+        }
+        logger.info("Bulk employee {} changed {} rows in {} chunks ({} ms)",
+                operation, affected, chunks, (System.nanoTime() - start) / 1_000_000);
+        return new EmployeeBulkResult(affected, chunks);
+    }
+
+    private Chunk applyChunk(Supplier<List<EmployeeRepo.EmployeeKey>> lookup, String newStatus,
+                             ToIntFunction<List<EmployeeRepo.EmployeeKey>> statement) {
+        Chunk chunk = transactionTemplate.execute(status -> {
+            List<EmployeeRepo.EmployeeKey> keys = lookup.get();
+            return new Chunk(keys, keys.isEmpty() ? 0 : statement.applyAsInt(keys));
+        });
+        Objects.requireNonNull(chunk);
+        // Evict after commit so a concurrent read cannot re-cache the old rows
+        evict(chunk.keys(), newStatus);
+        return chunk;
+    }
+
+    private void evict(List<EmployeeRepo.EmployeeKey> keys, String newStatus) {
+        Cache byId = cache(CacheConfig.EMPLOYEE_BY_ID);
+        Set<String> statuses = new HashSet<>();
+        for (EmployeeRepo.EmployeeKey key : keys) {
+            byId.evict(key.getId());
+            statuses.add(key.getStatus());
+        }
+        statuses.add(newStatus);
+        Cache byStatus = cache(CacheConfig.EMPLOYEES_BY_STATUS);
+        statuses.stream().filter(Objects::nonNull).forEach(byStatus::evict);
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
+
+    private static List<Long> ids(List<EmployeeRepo.EmployeeKey> keys) {
+        return keys.stream().map(EmployeeRepo.EmployeeKey::getId).toList();
+    }
+
+    private record Chunk(List<EmployeeRepo.EmployeeKey> keys, int affected) {
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.dto.EmployeeFeedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pushes committed employee changes to Server-Sent Events subscribers.
+ * <p>
+ * Changes go into a fixed-size ring buffer: writers claim a sequence number with one atomic
+ * increment and store the event in its slot, so publishing never takes a lock or waits for a
+ * subscriber. Every subscriber has its own virtual thread and read position and writes to its
+ * connection at its own pace. One that falls more than a buffer's length behind finds its next
+ * slot overwritten; it is sent a {@code resync} event and disconnected, and is expected to
+ * reload the list and reconnect. Sequence numbers start from the boot time in microseconds,
+ * so they keep increasing across restarts and a client can resume with {@code Last-Event-ID}.
+ */
+@Service
+public class EmployeeChangeFeed {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+    private static final long MIN_SLOT_BACKOFF_NANOS = 10_000;
+    private static final long MAX_SLOT_BACKOFF_NANOS = 1_000_000;
+    // A claimed slot still empty after this long belongs to a writer that failed after claiming it
+    private static final long UNFILLED_SLOT_TIMEOUT_NANOS = 1_000_000_000;
+
+    private final AtomicReferenceArray<EmployeeFeedEvent> ring;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final long firstSequence = sequence.get() + 1;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int maxSubscribers;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final Counter resyncs;
+
+    public EmployeeChangeFeed(@Value("${employee.feed.buffer-size:4096}") int bufferSize,
+                              @Value("${employee.feed.max-subscribers:1000}") int maxSubscribers,
+                              @Value("${employee.feed.heartbeat:15s}") Duration heartbeat,
+                              @Value("${employee.feed.timeout:30m}") Duration timeout,
+                              MeterRegistry meterRegistry) {
+        int capacity = Integer.highestOneBit(Math.max(bufferSize, 2) - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.resyncs = Counter.builder("employee.feed.resyncs")
+                .description("Subscribers disconnected because they fell behind the change feed")
+                .register(meterRegistry);
+        Gauge.builder("employee.feed.subscribers", subscribers, Set::size)
+                .description("Open change feed connections")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        long seq = sequence.incrementAndGet();
+        ring.set(slot(seq), new EmployeeFeedEvent(seq, event.getType().name(), event.getId(),
+                event.getEmployee(), event.getStatus()));
+        for (Subscriber subscriber : subscribers) {
+            LockSupport.unpark(subscriber.thread);
+        }
+    }
+
+    /**
+     * Opens a feed connection, or returns null when the subscriber limit is reached.
+     *
+     * @param lastEventId sequence of the last event the client saw, to resume after it; null to
+     *                    receive only changes from now on
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        long next = lastEventId == null ? sequence.get() + 1 : lastEventId + 1;
+        Subscriber subscriber = new Subscriber(emitter, next);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.thread.start();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private int slot(long seq) {
+        return (int) (seq & mask);
+    }
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final Thread thread;
+        private volatile boolean closed;
+        private long next;
+
+        private Subscriber(SseEmitter emitter, long next) {
+            this.emitter = emitter;
+            this.next = next;
+            this.thread = Thread.ofVirtual().name("employee-feed").unstarted(this);
+        }
+
+        @Override
+        public void run() {
+            long heartbeatNanos = heartbeat.toNanos();
+            long lastWrite = System.nanoTime();
+            long slotBackoff = MIN_SLOT_BACKOFF_NANOS;
+            long waitingSince = 0;
+            try {
+                // A resume point from before this boot, or beyond anything published, cannot be served
+                if (next < firstSequence || next > sequence.get() + 1) {
+                    resync();
+                    return;
+                }
+                while (!closed) {
+                    long head = sequence.get();
+                    if (next + ring.length() <= head) {
+                        resync();
+                        return;
+                    }
+                    if (next <= head) {
+                        EmployeeFeedEvent event = ring.get(slot(next));
+                        if (event == null || event.getSequence() < next) {
+                            // Claimed but not stored yet; the writer unparks us once it has stored it
+                            if (waitingSince == 0) {
+                                waitingSince = System.nanoTime();
+                            } else if (System.nanoTime() - waitingSince >= UNFILLED_SLOT_TIMEOUT_NANOS) {
+                                resync();
+                                return;
+                            }
+                            LockSupport.parkNanos(slotBackoff);
+                            slotBackoff = Math.min(slotBackoff * 2, MAX_SLOT_BACKOFF_NANOS);
+                            continue;
+                        }
+                        waitingSince = 0;
+                        slotBackoff = MIN_SLOT_BACKOFF_NANOS;
+                        if (event.getSequence() > next) {
+                            resync();
+                            return;
+                        }
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.getSequence()))
+                                .name("employee")
+                                .data(event, MediaType.APPLICATION_JSON));
+                        next++;
+                        lastWrite = System.nanoTime();
+                        continue;
+                    }
+                    if (System.nanoTime() - lastWrite >= heartbeatNanos) {
+                        // Keeps proxies from closing an idle stream and finds dead clients
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        lastWrite = System.nanoTime();
+                    }
+                    LockSupport.parkNanos(heartbeatNanos);
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Change feed subscriber disconnected: {}", e.getMessage());
+                emitter.completeWithError(e);
+            } finally {
+                close();
+            }
+        }
+
+        private void resync() throws IOException {
+            resyncs.increment();
+            emitter.send(SseEmitter.event().name("resync").data(sequence.get()));
+            emitter.complete();
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                subscribers.remove(this);
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+}
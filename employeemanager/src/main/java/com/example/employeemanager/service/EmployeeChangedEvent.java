@@ -0,0 +1,81 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.model.Employee;
+
+/**
+ * Published after an employee is created, updated or deleted so in-memory views
+ * (search index, aggregate counters) can follow the table without re-reading it.
+ */
+public class EmployeeChangedEvent {
+    public enum Type { CREATED, UPDATED, STATUS_CHANGED, DELETED }
+
+    private final Type type;
+    private final Long id;
+    private final Employee employee;
+    private final String status;
+    private final String previousStatus;
+    private final String previousJobTitle;
+
+    private EmployeeChangedEvent(Type type, Long id, Employee employee, String status,
+                                 String previousStatus, String previousJobTitle) {
+        this.type = type;
+        this.id = id;
+        this.employee = employee;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.previousJobTitle = previousJobTitle;
+    }
+
+    public static EmployeeChangedEvent created(Employee employee) {
+        return new EmployeeChangedEvent(Type.CREATED, employee.getId(), employee, employee.getStatus(), null, null);
+    }
+
+    public static EmployeeChangedEvent updated(Employee employee, String previousStatus, String previousJobTitle) {
+        return new EmployeeChangedEvent(Type.UPDATED, employee.getId(), employee, employee.getStatus(),
+                previousStatus, previousJobTitle);
+    }
+
+    /**
+     * Only the status changed, by a set-based update that never loaded the employee.
+     */
+    public static EmployeeChangedEvent statusChanged(Long id, String status, String previousStatus, String jobTitle) {
+        return new EmployeeChangedEvent(Type.STATUS_CHANGED, id, null, status, previousStatus, jobTitle);
+    }
+
+    public static EmployeeChangedEvent deleted(Long id, String previousStatus, String previousJobTitle) {
+        return new EmployeeChangedEvent(Type.DELETED, id, null, null, previousStatus, previousJobTitle);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * The employee as saved, or null for {@link Type#STATUS_CHANGED} and {@link Type#DELETED}.
+     */
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    /**
+     * Status after the change, or null for {@link Type#DELETED}.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Status before the change; null for {@link Type#CREATED}.
+     */
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getPreviousJobTitle() {
+        return previousJobTitle;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.employeemanager.service;
+
+/**
+ * Assigns the public {@code employeeCode} of new employees.
+ */
+public interface EmployeeCodeGenerator {
+    String nextCode();
+}
@@ -0,0 +1,101 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.model.Employee;
+import com.example.employeemanager.repo.EmployeeRepo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class EmployeeExportService {
+    private static final String CSV_HEADER = "id,name,email,jobTitle,phone,employeeCode,status";
+
+    private final EmployeeRepo employeeRepo;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public EmployeeExportService(EmployeeRepo employeeRepo, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.employeeRepo = employeeRepo;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        // Let the buffered writer decide when to hit the socket instead of flushing every row
+        this.rowWriter = objectMapper.writerFor(Employee.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Streams every employee to {@code out} row by row. Each entity is detached once written,
+     * so heap use stays constant however large the table is.
+     */
+    @Transactional(readOnly = true)
+    public void exportEmployees(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<Employee> employees = employeeRepo.streamAllByOrderByIdAsc()) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(employees.iterator(), writer);
+            } else {
+                writeNdjson(employees.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<Employee> employees, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (employees.hasNext()) {
+            Employee employee = employees.next();
+            rowWriter.writeValue(generator, employee);
+            entityManager.detach(employee);
+        }
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    private void writeCsv(Iterator<Employee> employees, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (employees.hasNext()) {
+            Employee employee = employees.next();
+            writer.write(String.valueOf(employee.getId()));
+            writeCsvField(writer, employee.getName());
+            writeCsvField(writer, employee.getEmail());
+            writeCsvField(writer, employee.getJobTitle());
+            writeCsvField(writer, employee.getPhone());
+            writeCsvField(writer, employee.getEmployeeCode());
+            writeCsvField(writer, employee.getStatus());
+            writer.write('\n');
+            entityManager.detach(employee);
+        }
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
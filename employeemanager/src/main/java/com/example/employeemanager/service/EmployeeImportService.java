@@ -0,0 +1,187 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.config.CacheConfig;
+import com.example.employeemanager.dto.EmployeeImportResult;
+import com.example.employeemanager.model.Employee;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+@Service
+public class EmployeeImportService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader employeeReader;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeCodeGenerator codeGenerator;
+
+    @Value("${employee.import.batch-size:500}")
+    private int batchSize;
+
+    public EmployeeImportService(EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 CacheManager cacheManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 EmployeeCodeGenerator codeGenerator) {
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.codeGenerator = codeGenerator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+    }
+
+    /**
+     * Reads employees from a JSON array or an NDJSON stream and inserts them in batches.
+     * Invalid rows are reported and skipped; a failing batch is retried row by row so only
+     * the offending rows are rejected.
+     */
+    public EmployeeImportResult importEmployees(InputStream in) throws IOException {
+        EmployeeImportResult result = new EmployeeImportResult();
+        List<Employee> batch = new ArrayList<>(batchSize);
+        List<Integer> batchRows = new ArrayList<>(batchSize);
+        int row = 0;
+
+        try (MappingIterator<Employee> rows = employeeReader.readValues(in)) {
+            while (true) {
+                Employee employee;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    employee = rows.nextValue();
+                } catch (JsonParseException e) {
+                    // Malformed JSON leaves the parser in an unknown position, so stop reading here
+                    result.getErrors().add(new EmployeeImportResult.RowError(row, "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                } catch (JsonMappingException e) {
+                    result.getErrors().add(new EmployeeImportResult.RowError(row, "Invalid row: " + e.getOriginalMessage()));
+                    continue;
+                }
+
+                String error = validate(employee);
+                if (error != null) {
+                    result.getErrors().add(new EmployeeImportResult.RowError(row, error));
+                    continue;
+                }
+                // Imported rows are new: drop any id or version the client sent along
+                employee.setId(null);
+                employee.setVersion(null);
+                employee.setEmployeeCode(codeGenerator.nextCode());
+                batch.add(employee);
+                batchRows.add(row);
+
+                if (batch.size() >= batchSize) {
+                    flushBatch(batch, batchRows, result);
+                }
+            }
+        }
+        flushBatch(batch, batchRows, result);
+        result.setReceived(row);
+        return result;
+    }
+
+    private void flushBatch(List<Employee> batch, List<Integer> batchRows, EmployeeImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Employee> saved = new ArrayList<>(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistAll(batch));
+            result.setImported(result.getImported() + batch.size());
+            saved.addAll(batch);
+        } catch (RuntimeException e) {
+            logger.warn("Import batch of {} rows failed, retrying row by row: {}", batch.size(), e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                Employee employee = batch.get(i);
+                // Undo what the failed persist assigned
+                employee.setId(null);
+                employee.setVersion(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistAll(List.of(employee)));
+                    result.setImported(result.getImported() + 1);
+                    saved.add(employee);
+                } catch (RuntimeException rowFailure) {
+                    result.getErrors().add(new EmployeeImportResult.RowError(batchRows.get(i),
+                            "Could not be saved: " + NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage()));
+                }
+            }
+        }
+        evictStatuses(saved);
+        saved.forEach(employee -> eventPublisher.publishEvent(EmployeeChangedEvent.created(employee)));
+        batch.clear();
+        batchRows.clear();
+    }
+
+    private void persistAll(List<Employee> employees) {
+        for (Employee employee : employees) {
+            entityManager.persist(employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void evictStatuses(List<Employee> employees) {
+        Cache byStatus = cacheManager.getCache(CacheConfig.EMPLOYEES_BY_STATUS);
+        if (byStatus == null) {
+            return;
+        }
+        employees.stream()
+                .map(Employee::getStatus)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(byStatus::evict);
+    }
+
+    private String validate(Employee employee) {
+        if (employee == null) {
+            return "Row is empty";
+        }
+        if (isBlank(employee.getName())) {
+            return "Name is required";
+        }
+        if (employee.getName().length() > 100) {
+            return "Name cannot exceed 100 characters";
+        }
+        if (isBlank(employee.getEmail())) {
+            return "Email is required";
+        }
+        if (!EMAIL_PATTERN.matcher(employee.getEmail()).matches()) {
+            return "Invalid email format";
+        }
+        if (isBlank(employee.getJobTitle())) {
+            return "Job title is required";
+        }
+        return null;
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,422 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.config.ReplicaRoutingDataSource;
+import com.example.employeemanager.dto.EmployeeSearchHit;
+import com.example.employeemanager.dto.EmployeeSearchResult;
+import com.example.employeemanager.model.Employee;
+import com.example.employeemanager.repo.EmployeeRepo;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over employee name, email and job title.
+ * <p>
+ * Every word is indexed under its one and two character prefixes and under all of its trigrams.
+ * Short query terms match word prefixes; longer terms are resolved by intersecting their trigram
+ * postings and then checked against the stored words, so a search never scans the table.
+ * Query terms are ANDed and hits are ranked by match quality (exact word, prefix, substring)
+ * weighted by field.
+ * <p>
+ * A rebuild streams the table into a fresh index and swaps it in. Changes committed while it
+ * streams are applied to the live index and also queued, then replayed onto the fresh one
+ * before the swap, so a row deleted or edited mid-rebuild is not brought back.
+ */
+@Service
+public class EmployeeSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String PREFIX_MARK = "^";
+    private static final long[] NO_IDS = new long[0];
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int SUBSTRING = 1;
+    private static final int NAME_WEIGHT = 3;
+    private static final int JOB_TITLE_WEIGHT = 2;
+    private static final int EMAIL_WEIGHT = 1;
+
+    private static final Comparator<EmployeeSearchHit> RANKING = Comparator.comparingInt(EmployeeSearchHit::getScore)
+            .reversed().thenComparing(EmployeeSearchHit::getId);
+
+    private final EmployeeRepo employeeRepo;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readTransaction;
+    // Searches read the postings under the read lock; changes and the rebuild swap take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Index index = new Index();
+    private List<EmployeeChangedEvent> pendingDuringRebuild;
+
+    @Value("${employee.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${employee.page.max-size:500}")
+    private int maxPageSize;
+
+    public EmployeeSearchIndex(EmployeeRepo employeeRepo, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager) {
+        this.employeeRepo = employeeRepo;
+        this.entityManager = entityManager;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        List<EmployeeChangedEvent> pending = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = null;
+        try {
+            // Read from the primary: a lagging replica would miss changes whose events came before the queue opened
+            fresh = ReplicaRoutingDataSource.readFromPrimary(() -> readTransaction.execute(status -> streamIndex()));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+                if (fresh != null) {
+                    for (EmployeeChangedEvent event : pending) {
+                        fresh.apply(event);
+                    }
+                    index = fresh;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.info("Indexed {} employees for search in {} ms, replayed {} changes",
+                fresh.documents.size(), (System.nanoTime() - start) / 1_000_000, pending.size());
+    }
+
+    private Index streamIndex() {
+        Index fresh = new Index();
+        try (Stream<Employee> employees = employeeRepo.streamAllByOrderByIdAsc()) {
+            for (Employee employee : (Iterable<Employee>) employees::iterator) {
+                fresh.add(employee);
+                entityManager.detach(employee);
+            }
+        }
+        return fresh;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.apply(event);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public EmployeeSearchResult search(String query, Integer page, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        List<String> terms = List.copyOf(new LinkedHashSet<>(words(query)));
+        if (terms.isEmpty()) {
+            return new EmployeeSearchResult(List.of(), 0, pageNumber, pageSize);
+        }
+
+        Index current;
+        long[] candidates = null;
+        lock.readLock().lock();
+        try {
+            current = index;
+            for (String term : terms) {
+                candidates = intersect(candidates, current.candidatesFor(term));
+                if (candidates.length == 0) {
+                    return new EmployeeSearchResult(List.of(), 0, pageNumber, pageSize);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Only the hits up to the end of the requested page are kept, worst at the head of the heap
+        long from = (long) pageNumber * pageSize;
+        int limit = (int) Math.min(from + pageSize, Integer.MAX_VALUE);
+        PriorityQueue<EmployeeSearchHit> top = new PriorityQueue<>(Math.min(limit, candidates.length) + 1, RANKING.reversed());
+        int total = 0;
+        for (long id : candidates) {
+            Document document = current.documents.get(id);
+            int score = document == null ? 0 : document.score(terms);
+            if (score == 0) {
+                continue;
+            }
+            total++;
+            EmployeeSearchHit hit = document.toHit(score);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (RANKING.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+
+        List<EmployeeSearchHit> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        int start = (int) Math.min(from, ranked.size());
+        return new EmployeeSearchResult(new ArrayList<>(ranked.subList(start, ranked.size())), total, pageNumber, pageSize);
+    }
+
+    public int size() {
+        return index.documents.size();
+    }
+
+    // Both inputs are sorted ascending, so a merge walk finds the common ids
+    private static long[] intersect(long[] current, long[] next) {
+        if (current == null) {
+            return next;
+        }
+        long[] result = new long[Math.min(current.length, next.length)];
+        int count = 0;
+        for (int i = 0, j = 0; i < current.length && j < next.length; ) {
+            if (current[i] < next[j]) {
+                i++;
+            } else if (current[i] > next[j]) {
+                j++;
+            } else {
+                result[count++] = current[i];
+                i++;
+                j++;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Postings and documents for one generation of the index. Postings are guarded by the
+     * enclosing lock; documents may be read without it.
+     */
+    private static final class Index {
+        private final Map<String, PostingList> postings = new HashMap<>();
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+        private void apply(EmployeeChangedEvent event) {
+            switch (event.getType()) {
+                case DELETED:
+                    remove(event.getId());
+                    break;
+                case STATUS_CHANGED:
+                    // The status is only shown in hits, not indexed, so the postings stay as they are
+                    documents.computeIfPresent(event.getId(), (id, document) -> document.withStatus(event.getStatus()));
+                    break;
+                default:
+                    add(event.getEmployee());
+            }
+        }
+
+        private void add(Employee employee) {
+            if (employee == null || employee.getId() == null) {
+                return;
+            }
+            Document document = new Document(employee);
+            Document previous = documents.put(document.id, document);
+            if (previous != null) {
+                previous.keys().forEach(key -> removePosting(key, previous.id));
+            }
+            document.keys().forEach(key -> postings.computeIfAbsent(key, k -> new PostingList()).add(document.id));
+        }
+
+        private void remove(Long id) {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                previous.keys().forEach(key -> removePosting(key, id));
+            }
+        }
+
+        private void removePosting(String key, long id) {
+            PostingList ids = postings.get(key);
+            if (ids != null && ids.remove(id) && ids.size == 0) {
+                postings.remove(key);
+            }
+        }
+
+        private long[] candidatesFor(String term) {
+            if (term.length() < 3) {
+                return ids(PREFIX_MARK + term);
+            }
+            long[] result = null;
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                result = intersect(result, ids(term.substring(i, i + 3)));
+                if (result.length == 0) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        private long[] ids(String key) {
+            PostingList ids = postings.get(key);
+            return ids == null ? NO_IDS : ids.toArray();
+        }
+    }
+
+    /**
+     * Sorted, growable array of employee ids. A rebuild streams ids in ascending order, so
+     * building the index only ever appends.
+     */
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            int at = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            int insert = -(at + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+            ids[insert] = id;
+            size++;
+        }
+
+        private boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    private static final class Document {
+        private final Long id;
+        private final String name;
+        private final String email;
+        private final String jobTitle;
+        private final String status;
+        private final List<String> nameWords;
+        private final List<String> emailWords;
+        private final List<String> jobTitleWords;
+
+        private Document(Employee employee) {
+            this.id = employee.getId();
+            this.name = employee.getName();
+            this.email = employee.getEmail();
+            this.jobTitle = employee.getJobTitle();
+            this.status = employee.getStatus();
+            this.nameWords = words(name);
+            this.emailWords = words(email);
+            this.jobTitleWords = words(jobTitle);
+        }
+
+        private Document(Document other, String status) {
+            this.id = other.id;
+            this.name = other.name;
+            this.email = other.email;
+            this.jobTitle = other.jobTitle;
+            this.status = status;
+            this.nameWords = other.nameWords;
+            this.emailWords = other.emailWords;
+            this.jobTitleWords = other.jobTitleWords;
+        }
+
+        private Document withStatus(String status) {
+            return new Document(this, status);
+        }
+
+        private Set<String> keys() {
+            Set<String> keys = new LinkedHashSet<>();
+            Stream.of(nameWords, emailWords, jobTitleWords).flatMap(List::stream).forEach(word -> {
+                keys.add(PREFIX_MARK + word.substring(0, 1));
+                if (word.length() > 1) {
+                    keys.add(PREFIX_MARK + word.substring(0, 2));
+                }
+                for (int i = 0; i + 3 <= word.length(); i++) {
+                    keys.add(word.substring(i, i + 3));
+                }
+            });
+            return keys;
+        }
+
+        /**
+         * Sums the best field match of every term, or returns 0 when a term does not match at all.
+         */
+        private int score(List<String> terms) {
+            int total = 0;
+            for (String term : terms) {
+                int best = Math.max(NAME_WEIGHT * match(nameWords, term),
+                        Math.max(JOB_TITLE_WEIGHT * match(jobTitleWords, term), EMAIL_WEIGHT * match(emailWords, term)));
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        private static int match(List<String> words, String term) {
+            int best = 0;
+            for (String word : words) {
+                if (word.equals(term)) {
+                    return EXACT;
+                }
+                if (word.startsWith(term)) {
+                    best = PREFIX;
+                } else if (best == 0 && term.length() >= 3 && word.contains(term)) {
+                    best = SUBSTRING;
+                }
+            }
+            return best;
+        }
+
+        private EmployeeSearchHit toHit(int score) {
+            return new EmployeeSearchHit(id, name, email, jobTitle, status, score);
+        }
+    }
+}
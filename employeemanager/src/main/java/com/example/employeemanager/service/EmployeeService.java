@@ -1,42 +1,299 @@
 package com.example.employeemanager.service;
 
+import com.example.employeemanager.config.CacheConfig;
+import com.example.employeemanager.config.ReplicaRoutingDataSource;
+import com.example.employeemanager.dto.EmployeeDTO;
+import com.example.employeemanager.dto.EmployeePage;
+import com.example.employeemanager.dto.EmployeePatch;
+import com.example.employeemanager.exception.EmployeeCodeCollisionException;
+import com.example.employeemanager.exception.EmployeeVersionConflictException;
+import com.example.employeemanager.exception.InvalidCursorException;
 import com.example.employeemanager.model.Employee;
 import com.example.employeemanager.repo.EmployeeRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.example.employeemanager.exception.UserNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
-import java.util.UUID;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Service
 public class EmployeeService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
+    private static final String EMPLOYEE_CODE_INDEX = "ux_employee_code";
+
     private final EmployeeRepo employeeRepo;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeCodeGenerator codeGenerator;
+
+    @Value("${employee.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${employee.page.max-size:500}")
+    private int maxPageSize;
 
     @Autowired
-    public EmployeeService(EmployeeRepo employeeRepo) {
+    public EmployeeService(EmployeeRepo employeeRepo, CacheManager cacheManager,
+                           ApplicationEventPublisher eventPublisher, EmployeeCodeGenerator codeGenerator) {
         this.employeeRepo = employeeRepo;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.codeGenerator = codeGenerator;
     }
 
     public Employee addEmployee(Employee employee) {
-        employee.setEmployeeCode(UUID.randomUUID().toString());
-        return employeeRepo.save(employee);
+        employee.setEmployeeCode(codeGenerator.nextCode());
+        Employee saved;
+        try {
+            saved = employeeRepo.save(employee);
+        } catch (DataIntegrityViolationException e) {
+            throw codeCollisionOr(e, employee.getEmployeeCode());
+        }
+        evictStatus(saved.getStatus());
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(saved));
+        return saved;
     }
+    @Transactional(readOnly = true)
     public List<Employee> findAllEmployees() {
         return employeeRepo.findAll();
     }
+    @Transactional(readOnly = true)
+    public EmployeePage<Employee> findEmployeesPage(String cursor, Integer size) {
+        return page(cursor, size, employeeRepo::findByIdGreaterThanOrderByIdAsc, Employee::getId);
+    }
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> findAllEmployeeSummaries() {
+        return employeeRepo.findAllSummaries();
+    }
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> findEmployeeSummariesByStatus(String status) {
+        return employeeRepo.findSummariesByStatus(status);
+    }
+    @Transactional(readOnly = true)
+    public EmployeePage<EmployeeDTO> findEmployeeSummariesPage(String cursor, Integer size) {
+        return page(cursor, size, employeeRepo::findSummariesAfter, EmployeeDTO::getId);
+    }
+    /**
+     * Replaces the employee's fields. When {@code employee} carries a version the update only
+     * goes through while the row is still at that version; without one it is unconditional.
+     */
+    @Transactional
     public Employee updateEmployee(Employee employee) {
-        return employeeRepo.save(employee);
+        Employee existing = employee.getId() == null ? null : employeeRepo.findById(employee.getId()).orElse(null);
+        if (existing == null) {
+            throw new UserNotFoundException("User by id" + employee.getId() + "was not found");
+        }
+        if (employee.getVersion() != null && !employee.getVersion().equals(existing.getVersion())) {
+            throw conflict(employee.getId(), employee.getVersion());
+        }
+        // Remember the old status so both the old and the new status lists get invalidated
+        String previousStatus = existing.getStatus();
+        String previousJobTitle = existing.getJobTitle();
+
+        // Copy onto the managed row rather than merging so Hibernate bumps its version;
+        // employeeCode is not updatable
+        existing.setName(employee.getName());
+        existing.setEmail(employee.getEmail());
+        existing.setJobTitle(employee.getJobTitle());
+        existing.setPhone(employee.getPhone());
+        existing.setImageUrl(employee.getImageUrl());
+        existing.setStatus(employee.getStatus());
+        Employee updated;
+        try {
+            updated = employeeRepo.saveAndFlush(existing);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Committed by someone else between our read and this flush
+            throw conflict(employee.getId(), existing.getVersion());
+        }
+
+        evictStatus(previousStatus);
+        evictStatus(updated.getStatus());
+        cache(CacheConfig.EMPLOYEE_BY_ID).put(updated.getId(), updated);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(updated, previousStatus, previousJobTitle));
+        return updated;
     }
+    @Transactional
+    public Employee updateImageUrl(Long id, String imageUrl) {
+        Employee existing = employeeRepo.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("User by id" + id + "was not found"));
+        existing.setImageUrl(imageUrl);
+        Employee updated = employeeRepo.saveAndFlush(existing);
+
+        evictStatus(updated.getStatus());
+        cache(CacheConfig.EMPLOYEE_BY_ID).put(updated.getId(), updated);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(updated, updated.getStatus(), updated.getJobTitle()));
+        return updated;
+    }
+    /**
+     * Applies the non-null fields of {@code patch} with a single conditional UPDATE, failing with
+     * 409 if the row is no longer at {@code expectedVersion}. When the cached copy is already at
+     * that version the row is not read at all.
+     */
+    @Transactional
+    public Employee patchEmployee(Long id, long expectedVersion, EmployeePatch patch) {
+        Employee current = snapshot(id, expectedVersion);
+        if (current.getVersion() != expectedVersion) {
+            throw conflict(id, expectedVersion);
+        }
+        if (patch.isEmpty()) {
+            return current;
+        }
+        if (employeeRepo.patchIfVersionMatches(id, expectedVersion, patch) == 0) {
+            // Changed between the snapshot and the update, possibly by another instance. The
+            // transaction-aware cache defers evict() to a commit that never happens, so drop the
+            // stale entry now; otherwise retries keep being handed its version until it expires
+            cache(CacheConfig.EMPLOYEE_BY_ID).evictIfPresent(id);
+            throw conflict(id, expectedVersion);
+        }
+
+        Employee patched = new Employee(current);
+        if (patch.getName() != null) patched.setName(patch.getName());
+        if (patch.getEmail() != null) patched.setEmail(patch.getEmail());
+        if (patch.getJobTitle() != null) patched.setJobTitle(patch.getJobTitle());
+        if (patch.getPhone() != null) patched.setPhone(patch.getPhone());
+        if (patch.getStatus() != null) patched.setStatus(patch.getStatus());
+        patched.setVersion(expectedVersion + 1);
+
+        evictStatus(current.getStatus());
+        evictStatus(patched.getStatus());
+        cache(CacheConfig.EMPLOYEE_BY_ID).put(id, patched);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(patched, current.getStatus(), current.getJobTitle()));
+        return patched;
+    }
+    // Cache fills read the primary: the entry outlives the replica's lag tolerance by far
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEE_BY_ID, key = "#id")
+    @Transactional(readOnly = true)
     public Employee findEmployeeById(Long id){
-        return employeeRepo.findEmployeeById(id)
+        return ReplicaRoutingDataSource.readFromPrimary(() -> employeeRepo.findEmployeeById(id))
                 .orElseThrow(()-> new UserNotFoundException("User by id" + id + "was not found"));
     }
+    @Transactional
     public void deleteEmployee(Long id){
-        employeeRepo.deleteEmployeeById(id);
+        // Read just the columns the caches and counters need, then delete without loading the entity
+        List<EmployeeRepo.EmployeeKey> existing = employeeRepo.findKeysByIdIn(List.of(id));
+        employeeRepo.deleteByIdIn(List.of(id));
+        cache(CacheConfig.EMPLOYEE_BY_ID).evict(id);
+        for (EmployeeRepo.EmployeeKey key : existing) {
+            evictStatus(key.getStatus());
+            eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id, key.getStatus(), key.getJobTitle()));
+        }
+    }
+    /**
+     * Current version of an employee, from the cache when possible, otherwise without loading the row.
+     */
+    public long findEmployeeVersion(Long id) {
+        Employee cached = cache(CacheConfig.EMPLOYEE_BY_ID).get(id, Employee.class);
+        if (cached != null && cached.getVersion() != null) {
+            return cached.getVersion();
+        }
+        return employeeRepo.findVersionById(id)
+                .orElseThrow(() -> new UserNotFoundException("User by id" + id + "was not found"));
+    }
+    @Transactional(readOnly = true)
+    public Employee findEmployeeByCode(String employeeCode) {
+        return employeeRepo.findByEmployeeCode(employeeCode)
+                .orElseThrow(() -> new UserNotFoundException("User by code " + employeeCode + " was not found"));
+    }
+    /**
+     * Employees with {@code status} as of {@code tableVersion}. A cached list is only served
+     * while the table is still at the version it was read at, so it can never be paired with a
+     * newer list ETag, whichever instance or replica made or saw the change.
+     */
+    @Transactional(readOnly = true)
+    public List<Employee> findEmployeesByStatus(String status, String tableVersion) {
+        Cache byStatus = cache(CacheConfig.EMPLOYEES_BY_STATUS);
+        StatusList cached = byStatus.get(status, StatusList.class);
+        if (cached != null && cached.tableVersion().equals(tableVersion)) {
+            return cached.employees();
+        }
+        List<Employee> employees = employeeRepo.findByStatus(status);
+        byStatus.put(status, new StatusList(tableVersion, employees));
+        return employees;
     }
-    public List<Employee> findEmployeesByStatus(String status) {
-        return employeeRepo.findByStatus(status);
+
+    private Employee snapshot(Long id, long expectedVersion) {
+        Employee cached = cache(CacheConfig.EMPLOYEE_BY_ID).get(id, Employee.class);
+        if (cached != null && cached.getVersion() != null && cached.getVersion() == expectedVersion) {
+            return cached;
+        }
+        return employeeRepo.findEmployeeById(id)
+                .orElseThrow(() -> new UserNotFoundException("User by id" + id + "was not found"));
+    }
+
+    // Codes are never reused, so a duplicate means two instances are issuing codes as the same node
+    private static RuntimeException codeCollisionOr(DataIntegrityViolationException e, String code) {
+        String cause = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        if (!cause.toLowerCase(Locale.ROOT).contains(EMPLOYEE_CODE_INDEX)) {
+            return e;
+        }
+        logger.error("Employee code {} was already issued; another instance is running with the same employee.code.node-id", code);
+        return new EmployeeCodeCollisionException("Employee code collision, check employee.code.node-id", e);
+    }
+
+    private static EmployeeVersionConflictException conflict(Long id, long expectedVersion) {
+        return new EmployeeVersionConflictException(
+                "Employee " + id + " was modified since version " + expectedVersion);
+    }
+
+    private void evictStatus(String status) {
+        if (status != null) {
+            cache(CacheConfig.EMPLOYEES_BY_STATUS).evict(status);
+        }
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
     }
 
+    private <T> EmployeePage<T> page(String cursor, Integer size,
+                                     BiFunction<Long, Limit, List<T>> query, Function<T, Long> idOf) {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+        long afterId = cursor == null || cursor.isBlank() ? 0L : decodeCursor(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<T> rows = query.apply(afterId, Limit.of(pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? encodeCursor(idOf.apply(content.get(content.size() - 1))) : null;
+        return new EmployeePage<>(content, content.size(), nextCursor);
+    }
+
+    private String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            long id = Long.parseLong(decoded);
+            if (id < 0) {
+                throw new InvalidCursorException("Invalid page cursor");
+            }
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid page cursor");
+        }
+    }
+
+    private record StatusList(String tableVersion, List<Employee> employees) {
+    }
 }
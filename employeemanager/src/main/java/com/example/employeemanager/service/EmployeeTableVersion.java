@@ -0,0 +1,88 @@
+package com.example.employeemanager.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Function;
+
+/**
+ * Change counter for the employee table, the basis of the list ETags. It is a single row in
+ * {@code employee_change_counter}, bumped in the same transaction as every write made through
+ * the application, so every instance and every replica agrees with the rows it describes.
+ * Writes that bypass the application (manual SQL, other services) must bump it as well, or
+ * clients keep their cached lists until the next write that does.
+ */
+@Component
+public class EmployeeTableVersion {
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate snapshotTransaction;
+
+    public EmployeeTableVersion(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @PostConstruct
+    void createCounter() {
+        jdbcTemplate.execute("create table if not exists employee_change_counter (id int not null primary key, changes bigint not null)");
+        jdbcTemplate.update("insert into employee_change_counter (id, changes) select 1, 0 from dual "
+                + "where not exists (select 1 from employee_change_counter where id = 1)");
+    }
+
+    /**
+     * Reads the current version and hands it to {@code work} inside one read-only,
+     * repeatable-read transaction, so whatever {@code work} reads comes from the same snapshot
+     * (and the same database, primary or replica) as the version.
+     */
+    public <T> T read(Function<String, T> work) {
+        return snapshotTransaction.execute(status -> {
+            Number changes = (Number) entityManager
+                    .createNativeQuery("select changes from employee_change_counter where id = 1")
+                    .getSingleResult();
+            return work.apply(Long.toString(changes.longValue(), 36));
+        });
+    }
+
+    // Once per transaction, just before it commits; a change published outside one bumps on its own
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            bump();
+            return;
+        }
+        boolean registered = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(BumpBeforeCommit.class::isInstance);
+        if (!registered) {
+            TransactionSynchronizationManager.registerSynchronization(new BumpBeforeCommit());
+        }
+    }
+
+    private void bump() {
+        writeTransaction.executeWithoutResult(status -> entityManager
+                .createNativeQuery("update employee_change_counter set changes = changes + 1 where id = 1")
+                .executeUpdate());
+    }
+
+    private final class BumpBeforeCommit implements TransactionSynchronization {
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            bump();
+        }
+    }
+}
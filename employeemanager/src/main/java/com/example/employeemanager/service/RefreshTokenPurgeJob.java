@@ -0,0 +1,77 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.repo.RefreshTokenRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Deletes expired refresh tokens in small batches. Each batch is its own short transaction
+ * that only locks the rows it removes, with a pause in between so other writers get through.
+ */
+@Component
+public class RefreshTokenPurgeJob {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    private final RefreshTokenRepo refreshTokenRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${refresh-token.purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${refresh-token.purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${refresh-token.purge.max-batches:200}")
+    private int maxBatches;
+
+    @Value("${refresh-token.purge.batch-pause:100ms}")
+    private Duration batchPause;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepo refreshTokenRepo, PlatformTransactionManager transactionManager) {
+        this.refreshTokenRepo = refreshTokenRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${refresh-token.purge.initial-delay:1m}",
+            fixedDelayString = "${refresh-token.purge.interval:1h}")
+    public void purgeExpiredTokens() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        Instant now = Instant.now();
+        long start = System.nanoTime();
+        int removed = 0;
+        int batches = 0;
+
+        // max-batches caps a single run; anything left over is picked up by the next one
+        while (batches < maxBatches) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = refreshTokenRepo.findExpiredIds(now, Limit.of(batchSize));
+                return ids.isEmpty() ? 0 : refreshTokenRepo.deleteByIdIn(ids);
+            });
+            batches++;
+            removed += deleted == null ? 0 : deleted;
+            if (deleted == null || deleted < batchSize) {
+                break;
+            }
+            Thread.sleep(batchPause.toMillis());
+        }
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        if (removed > 0) {
+            logger.info("Purged {} expired refresh tokens in {} batches ({} ms)", removed, batches, elapsedMillis);
+        } else {
+            logger.debug("No expired refresh tokens to purge ({} ms)", elapsedMillis);
+        }
+    }
+}
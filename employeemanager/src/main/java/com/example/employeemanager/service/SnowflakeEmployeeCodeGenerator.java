@@ -0,0 +1,145 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.config.ReplicaRoutingDataSource;
+import com.example.employeemanager.repo.EmployeeRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style codes: 41 bits of milliseconds since 2024-01-01, a 10-bit node id and a
+ * 12-bit sequence, written as 13 Crockford base32 characters. Codes from one node strictly
+ * increase and sort the same as strings, so new rows are appended at the end of the index
+ * instead of splitting pages at random. Every instance needs its own node id (0-1023) in
+ * {@code employee.code.node-id}; it may only be left empty, meaning node 0, while
+ * {@code employee.code.instances} is 1, and startup fails otherwise. Two instances on the same
+ * node id issue the same codes; the unique index turns that into an
+ * {@link com.example.employeemanager.exception.EmployeeCodeCollisionException}.
+ * <p>
+ * The clock only seeds each value: if it steps back, or more than 4096 codes are issued in a
+ * millisecond, the generator carries on from the last code instead of waiting. On startup it
+ * resumes after the latest stored code, so a clock that went back across a restart does not
+ * repeat codes either.
+ */
+@Component
+public class SnowflakeEmployeeCodeGenerator implements EmployeeCodeGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(SnowflakeEmployeeCodeGenerator.class);
+
+    public static final int LENGTH = 13;
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    // Last issued timestamp and sequence, packed as (timestamp << SEQUENCE_BITS | sequence)
+    private final AtomicLong last = new AtomicLong();
+
+    @Autowired
+    public SnowflakeEmployeeCodeGenerator(@Value("${employee.code.node-id:}") String nodeId,
+                                          @Value("${employee.code.instances:1}") int instances,
+                                          EmployeeRepo employeeRepo) {
+        this(configuredNodeId(nodeId, instances), System::currentTimeMillis);
+        ReplicaRoutingDataSource.readFromPrimary(employeeRepo::findLatestEmployeeCode).ifPresent(this::resumeAfter);
+        logger.info("Issuing employee codes as node {}", this.nodeId);
+    }
+
+    public SnowflakeEmployeeCodeGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("employee.code.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public String nextCode() {
+        return encode(nextId());
+    }
+
+    /**
+     * Makes every later code sort after {@code code}, whichever node issued it. Codes that are
+     * not in this generator's format are ignored.
+     */
+    public void resumeAfter(String code) {
+        long id;
+        try {
+            id = decode(code);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Not resuming after employee code {}: {}", code, e.getMessage());
+            return;
+        }
+        long timestamp = id >>> (NODE_BITS + SEQUENCE_BITS);
+        if (timestamp > clock.getAsLong() - EPOCH_MILLIS) {
+            logger.warn("Latest employee code {} is ahead of the clock; carrying on from it", code);
+        }
+        // Skip the rest of that millisecond: another node's sequence says nothing about ours
+        last.accumulateAndGet(timestamp << SEQUENCE_BITS | SEQUENCE_MASK, Math::max);
+    }
+
+    public long nextId() {
+        while (true) {
+            long previous = last.get();
+            long next = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            if (next <= previous) {
+                next = previous + 1;
+            }
+            if (last.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return timestamp << (NODE_BITS + SEQUENCE_BITS) | nodeId << SEQUENCE_BITS | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    static long configuredNodeId(String nodeId, int instances) {
+        if (!nodeId.isBlank()) {
+            return Long.parseLong(nodeId.trim());
+        }
+        if (instances > 1) {
+            throw new IllegalStateException("employee.code.node-id must be set on every instance when "
+                    + "employee.code.instances is " + instances);
+        }
+        return 0;
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    static long decode(String code) {
+        if (code.length() != LENGTH) {
+            throw new IllegalArgumentException("expected " + LENGTH + " characters");
+        }
+        long id = 0;
+        for (char c : code.toCharArray()) {
+            int digit = Arrays.binarySearch(CROCKFORD, Character.toUpperCase(c));
+            if (digit < 0) {
+                throw new IllegalArgumentException("'" + c + "' is not a Crockford base32 digit");
+            }
+            if (id >= 1L << 58) {
+                throw new IllegalArgumentException("out of range");
+            }
+            id = id << 5 | digit;
+        }
+        return id;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.employeemanager.config;
+
+import com.example.employeemanager.model.Employee;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeByIdCacheTest {
+    private final CacheConfig.EmployeeByIdCache cache =
+            new CacheConfig.EmployeeByIdCache(CacheConfig.EMPLOYEE_BY_ID, Caffeine.newBuilder().build(), false);
+
+    @Test
+    void staleFillDoesNotOverwriteANewerVersion() {
+        cache.put(1L, employee(1L, 6L, "after"));
+        cache.put(1L, employee(1L, 5L, "before"));
+
+        assertThat(cache.get(1L, Employee.class).getName()).isEqualTo("after");
+    }
+
+    @Test
+    void newerVersionReplacesTheEntry() {
+        cache.put(1L, employee(1L, 5L, "before"));
+        cache.put(1L, employee(1L, 6L, "after"));
+
+        assertThat(cache.get(1L, Employee.class).getName()).isEqualTo("after");
+    }
+
+    private static Employee employee(Long id, Long version, String name) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setVersion(version);
+        employee.setName(name);
+        return employee;
+    }
+}
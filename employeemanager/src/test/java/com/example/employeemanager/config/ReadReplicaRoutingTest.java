@@ -0,0 +1,181 @@
+package com.example.employeemanager.config;
+
+import com.example.employeemanager.model.Employee;
+import com.example.employeemanager.security.CustomUserDetailsService;
+import com.example.employeemanager.service.EmployeeService;
+import com.example.employeemanager.service.EmployeeTableVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes against two separate in-memory databases. Rows are written to each side directly
+ * so every read shows which database answered it.
+ */
+@SpringBootTest
+@ActiveProfiles("replica")
+class ReadReplicaRoutingTest {
+    // Well clear of the ids the employee sequence hands out
+    private static final Long SEEDED_ID = 1_000_000L;
+    // datasource.replica.max-lag in application-replica.properties
+    private static final Duration MAX_LAG = Duration.ofSeconds(2);
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private EmployeeTableVersion tableVersion;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        // Stand in for replication of the schema Hibernate created on the primary
+        if (replica.queryForObject("select count(*) from information_schema.tables where table_name = 'employee'",
+                Integer.class) == 0) {
+            primary.queryForList("script nodata", String.class).forEach(replica::execute);
+        }
+        for (JdbcTemplate db : List.of(primary, replica)) {
+            db.update("delete from employee");
+            db.update("merge into employee_change_counter (id, changes) key (id) values (1, 0)");
+        }
+        insertEmployee(primary, SEEDED_ID, "Primary Copy");
+        insertEmployee(replica, SEEDED_ID, "Replica Copy");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        ReplicaRoutingDataSource.unpin();
+        // No heartbeat has reached the replica yet, so its lag is unknown
+        replica.execute("drop table if exists replication_heartbeat");
+        lagMonitor.beat();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaOnceCaughtUp() {
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        assertThat(names(employeeService.findAllEmployees())).containsExactly("Primary Copy");
+
+        replicateHeartbeat(System.currentTimeMillis());
+        lagMonitor.beat();
+
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+        assertThat(names(employeeService.findAllEmployees())).containsExactly("Replica Copy");
+
+        replica.update("insert into users (username, password, role, token_family) values ('replica-only', 'x', 'USER', 0)");
+        assertThat(userDetailsService.loadUserByUsername("replica-only").getUsername()).isEqualTo("replica-only");
+    }
+
+    @Test
+    void writesGoToPrimaryAndPinReadsUntilTheRequestEnds() {
+        replicateHeartbeat(System.currentTimeMillis());
+        lagMonitor.beat();
+
+        employeeService.addEmployee(new Employee("New Hire", "new@example.com", "Dev", null, null, null, "ACTIVE"));
+
+        assertThat(primary.queryForObject("select count(*) from employee", Integer.class)).isEqualTo(2);
+        assertThat(replica.queryForObject("select count(*) from employee", Integer.class)).isEqualTo(1);
+        assertThat(names(employeeService.findAllEmployees())).containsExactlyInAnyOrder("Primary Copy", "New Hire");
+
+        ReplicaRoutingDataSource.unpin();
+        assertThat(names(employeeService.findAllEmployees())).containsExactly("Replica Copy");
+    }
+
+    @Test
+    void cacheFillsReadThePrimary() {
+        replicateHeartbeat(System.currentTimeMillis());
+        lagMonitor.beat();
+
+        assertThat(employeeService.findEmployeeById(SEEDED_ID).getName()).isEqualTo("Primary Copy");
+        // The request is not pinned by it
+        assertThat(names(employeeService.findAllEmployees())).containsExactly("Replica Copy");
+    }
+
+    @Test
+    void staleCheckStopsReplicaReads() throws InterruptedException {
+        replicateHeartbeat(System.currentTimeMillis());
+        lagMonitor.beat();
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+
+        // No beat within max-lag, as when the heartbeat thread is stuck
+        Thread.sleep(MAX_LAG.toMillis() + 100);
+
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        assertThat(names(employeeService.findAllEmployees())).containsExactly("Primary Copy");
+    }
+
+    @Test
+    void laggingReplicaIsBypassed() {
+        replicateHeartbeat(System.currentTimeMillis() - Duration.ofMinutes(1).toMillis());
+        lagMonitor.beat();
+
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        assertThat(lagMonitor.getLagMillis()).isGreaterThanOrEqualTo(Duration.ofMinutes(1).toMillis());
+        assertThat(names(employeeService.findAllEmployees())).containsExactly("Primary Copy");
+    }
+
+    @Test
+    void statusListsAreReadWithTheTableVersionFromTheSameSide() {
+        replicateHeartbeat(System.currentTimeMillis());
+        lagMonitor.beat();
+
+        assertThat(names(tableVersion.read(version -> employeeService.findEmployeesByStatus("ACTIVE", version))))
+                .containsExactly("Replica Copy");
+
+        // A replicated write carries its counter bump with it, so the cached list is not served again
+        replica.update("update employee set name = 'Replica Renamed' where id = ?", SEEDED_ID);
+        replica.update("update employee_change_counter set changes = changes + 1 where id = 1");
+
+        assertThat(names(tableVersion.read(version -> employeeService.findEmployeesByStatus("ACTIVE", version))))
+                .containsExactly("Replica Renamed");
+    }
+
+    private void replicateHeartbeat(long beatAt) {
+        replica.execute("create table if not exists replication_heartbeat (id int not null primary key, beat_at bigint not null)");
+        replica.update("delete from replication_heartbeat");
+        replica.update("insert into replication_heartbeat (id, beat_at) values (1, ?)", beatAt);
+    }
+
+    private static void insertEmployee(JdbcTemplate db, Long id, String name) {
+        db.update("insert into employee (id, name, email, job_title, employee_code, status, version) "
+                + "values (?, ?, ?, 'Dev', ?, 'ACTIVE', 0)", id, name, id + "@example.com", "code-" + id);
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getName).toList();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.employeemanager.loadtest;
+
+import com.example.employeemanager.config.ConcurrencyLimitFilter;
+import com.example.employeemanager.config.EmployeeSequenceInitializer;
+import com.example.employeemanager.service.EmployeeAggregateCounters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds an in-memory database with synthetic employees and users, then drives a request mix
+ * against the running application and reports throughput and latency percentiles per endpoint.
+ * Only runs with {@code -Dloadtest=true}, which the {@code loadtest} Maven profile sets.
+ * <p>
+ * Tunables (system properties): {@code loadtest.employees}, {@code loadtest.users},
+ * {@code loadtest.seed}, {@code loadtest.model} (closed/open), {@code loadtest.concurrency},
+ * {@code loadtest.rate}, {@code loadtest.max-in-flight}, {@code loadtest.warmup-seconds},
+ * {@code loadtest.duration-seconds}, {@code loadtest.mix}. Add {@code -Dspring.threads.virtual.enabled=true}
+ * to compare virtual threads against the platform thread pool.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class EmployeeManagerLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeManagerLoadTest.class);
+    private static final String PASSWORD = "LoadTest@123";
+    private static final int SESSION_COUNT = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EmployeeSequenceInitializer employeeSequenceInitializer;
+
+    @Autowired
+    private EmployeeAggregateCounters employeeAggregateCounters;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Test
+    void runLoad() throws Exception {
+        int employees = Integer.getInteger("loadtest.employees", 1_000_000);
+        int users = Integer.getInteger("loadtest.users", 100_000);
+        long seed = Long.getLong("loadtest.seed", 42L);
+        String model = System.getProperty("loadtest.model", "closed");
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "500"));
+        int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 2000);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60));
+        String mix = System.getProperty("loadtest.mix", "login:2,find:85,update:13,all:0.05");
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(jdbcTemplate, seed);
+        long seedStart = System.nanoTime();
+        generator.insertEmployees(employees, 1000);
+        generator.insertUsers(users, passwordEncoder.encode(PASSWORD), 1000);
+        employeeSequenceInitializer.run();
+        // The search index is left empty: at a million rows it would dominate the heap and it is not under test here
+        employeeAggregateCounters.reconcile();
+        logger.info("Seeded {} employees and {} users in {} ms", employees, users, (System.nanoTime() - seedStart) / 1_000_000);
+
+        URI baseUri = URI.create("http://localhost:" + port);
+        LoadDriver bootstrap = new LoadDriver(baseUri, objectMapper, generator, LoadDriver.parseMix(mix),
+                List.of("unused"), employees, users, PASSWORD, seed);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 1; i <= Math.min(SESSION_COUNT, users); i++) {
+            tokens.add(bootstrap.login(SyntheticDataGenerator.USERNAME_PREFIX + i));
+        }
+        LoadDriver driver = new LoadDriver(baseUri, objectMapper, generator, LoadDriver.parseMix(mix),
+                tokens, employees, users, PASSWORD, seed);
+
+        Map<LoadDriver.Operation, EndpointStats> stats;
+        Map<String, Object> resources;
+        if ("open".equalsIgnoreCase(model)) {
+            driver.runOpen(rate, warmup, maxInFlight);
+            try (ResourceSampler sampler = new ResourceSampler()) {
+                stats = driver.runOpen(rate, duration, maxInFlight);
+                resources = sampler.summarize();
+            }
+        } else {
+            driver.runClosed(concurrency, warmup);
+            try (ResourceSampler sampler = new ResourceSampler()) {
+                stats = driver.runClosed(concurrency, duration);
+                resources = sampler.summarize();
+            }
+        }
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("employees", employees);
+        config.put("users", users);
+        config.put("seed", seed);
+        config.put("model", model);
+        config.put("concurrency", concurrency);
+        config.put("rate", rate);
+        config.put("mix", mix);
+        config.put("virtualThreads", environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+        config.put("concurrencyLimit", concurrencyLimitFilter.isEnabled() ? concurrencyLimitFilter.getLimit() : null);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.putAll(LoadDriver.report(stats, duration.toSeconds()));
+        report.put("resources", resources);
+
+        File output = new File("target/loadtest-report.json");
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+        for (Object endpoint : (List<?>) report.get("endpoints")) {
+            logger.info("{}", endpoint);
+        }
+        logger.info("{}", resources);
+        logger.info("Load test report written to {}", output.getAbsolutePath());
+
+        long completed = stats.values().stream()
+                .mapToLong(endpoint -> ((Number) endpoint.summarize(duration.toSeconds()).get("requests")).longValue())
+                .sum();
+        assertTrue(completed > 0, "no requests completed");
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.employeemanager.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and status codes recorded for one endpoint. Every sample is kept so percentiles
+ * are exact; at a few million requests per run that is still only tens of megabytes.
+ */
+class EndpointStats {
+    private final String name;
+    private long[] latenciesMicros = new long[1024];
+    private int count;
+    private long errors;
+    private long dropped;
+    private final Map<Integer, Long> statusCodes = new TreeMap<>();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    synchronized void record(long latencyMicros, int status) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = latencyMicros;
+        statusCodes.merge(status, 1L, Long::sum);
+        // status 0 means the request failed before a response arrived
+        if (status < 200 || status >= 300) {
+            errors++;
+        }
+    }
+
+    /**
+     * Counts a request the open-model driver never sent because too many were already in flight.
+     */
+    synchronized void recordDropped() {
+        dropped++;
+    }
+
+    /**
+     * Summary over a run of {@code seconds}; latencies in milliseconds.
+     */
+    synchronized Map<String, Object> summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latenciesMicros, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", name);
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("dropped", dropped);
+        summary.put("throughputPerSecond", round(count / seconds));
+        summary.put("p50Ms", percentile(sorted, 50));
+        summary.put("p90Ms", percentile(sorted, 90));
+        summary.put("p99Ms", percentile(sorted, 99));
+        summary.put("p999Ms", percentile(sorted, 99.9));
+        summary.put("maxMs", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0);
+        summary.put("statusCodes", new TreeMap<>(statusCodes));
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
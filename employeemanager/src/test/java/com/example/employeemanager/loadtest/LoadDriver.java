@@ -0,0 +1,224 @@
+package com.example.employeemanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a weighted mix of requests against a running server.
+ * <ul>
+ *     <li>Closed model: a fixed number of virtual users, each sending its next request as soon as
+ *     the previous one completes. Shows the throughput the server can sustain.</li>
+ *     <li>Open model: requests arrive at a fixed rate whether or not earlier ones have finished,
+ *     and latency is measured from the scheduled send time so queueing delay is not hidden
+ *     (no coordinated omission). Shows latency at a given load.</li>
+ * </ul>
+ */
+class LoadDriver {
+    enum Operation { LOGIN, FIND, ALL, UPDATE }
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final URI baseUri;
+    private final SyntheticDataGenerator generator;
+    private final Map<Operation, Double> mix;
+    private final List<String> tokens;
+    private final int employeeCount;
+    private final int userCount;
+    private final String password;
+    private final AtomicLong seeds;
+
+    LoadDriver(URI baseUri, ObjectMapper objectMapper, SyntheticDataGenerator generator, Map<Operation, Double> mix,
+               List<String> tokens, int employeeCount, int userCount, String password, long seed) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.generator = generator;
+        this.mix = mix;
+        this.tokens = tokens;
+        this.employeeCount = employeeCount;
+        this.userCount = userCount;
+        this.password = password;
+        this.seeds = new AtomicLong(seed);
+    }
+
+    /**
+     * Parses a mix such as {@code login:2,find:85,update:13,all:0.05}.
+     */
+    static Map<Operation, Double> parseMix(String spec) {
+        Map<Operation, Double> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] weight = part.trim().split(":");
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase()), Double.parseDouble(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    Map<Operation, EndpointStats> runClosed(int virtualUsers, Duration duration) throws InterruptedException {
+        Map<Operation, EndpointStats> stats = newStats();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(virtualUsers);
+        for (int i = 0; i < virtualUsers; i++) {
+            Random random = new Random(seeds.incrementAndGet());
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Operation operation = pick(random);
+                    HttpRequest request = request(operation, random);
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = 0;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    stats.get(operation).record((System.nanoTime() - start) / 1000, status);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS);
+        return stats;
+    }
+
+    Map<Operation, EndpointStats> runOpen(double requestsPerSecond, Duration duration, int maxInFlight)
+            throws InterruptedException {
+        Map<Operation, EndpointStats> stats = newStats();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Random random = new Random(seeds.incrementAndGet());
+        long intervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+        long start = System.nanoTime();
+        long total = (long) (requestsPerSecond * duration.toNanos() / 1_000_000_000L);
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick(random);
+            if (!inFlight.tryAcquire()) {
+                stats.get(operation).recordDropped();
+                continue;
+            }
+            client.sendAsync(request(operation, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        inFlight.release();
+                        int status = failure == null ? response.statusCode() : 0;
+                        stats.get(operation).record((System.nanoTime() - intended) / 1000, status);
+                    });
+        }
+        // Let the tail of the run finish before reporting
+        inFlight.tryAcquire(maxInFlight, 120, TimeUnit.SECONDS);
+        return stats;
+    }
+
+    String login(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login for " + username + " failed with " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    static Map<String, Object> report(Map<Operation, EndpointStats> stats, double seconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        stats.values().forEach(endpoint -> endpoints.add(endpoint.summarize(seconds)));
+        report.put("durationSeconds", seconds);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private Map<Operation, EndpointStats> newStats() {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        stats.put(Operation.LOGIN, new EndpointStats("POST /api/auth/login"));
+        stats.put(Operation.FIND, new EndpointStats("GET /employee/find/{id}"));
+        stats.put(Operation.ALL, new EndpointStats("GET /employee/all"));
+        stats.put(Operation.UPDATE, new EndpointStats("PUT /employee/update"));
+        return stats;
+    }
+
+    private Operation pick(Random random) {
+        double total = mix.values().stream().mapToDouble(Double::doubleValue).sum();
+        double u = random.nextDouble() * total;
+        for (Map.Entry<Operation, Double> entry : mix.entrySet()) {
+            u -= entry.getValue();
+            if (u < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.FIND;
+    }
+
+    private HttpRequest request(Operation operation, Random random) {
+        switch (operation) {
+            case LOGIN:
+                return loginRequest(SyntheticDataGenerator.USERNAME_PREFIX + (1 + random.nextInt(userCount)));
+            case ALL:
+                return authorized("/employee/all", random).GET().build();
+            case UPDATE:
+                // Blind writes: the driver does not track versions
+                return authorized("/employee/update", random)
+                        .header("Content-Type", "application/json")
+                        .header("If-Match", "*")
+                        .PUT(HttpRequest.BodyPublishers.ofString(updateBody(random)))
+                        .build();
+            default:
+                return authorized("/employee/find/" + (1 + random.nextInt(employeeCount)), random).GET().build();
+        }
+    }
+
+    private HttpRequest loginRequest(String username) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        return HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path, Random random) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())));
+    }
+
+    private String updateBody(Random random) {
+        int id = 1 + random.nextInt(employeeCount);
+        Map<String, Object> employee = new LinkedHashMap<>();
+        employee.put("id", id);
+        employee.put("name", generator.name(random));
+        employee.put("email", "updated" + id + "@example.com");
+        employee.put("jobTitle", generator.jobTitle(random));
+        employee.put("phone", generator.phone(random));
+        employee.put("status", generator.status(random));
+        try {
+            return objectMapper.writeValueAsString(employee);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.employeemanager.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples heap use, platform thread count and GC activity of this JVM while a load test runs,
+ * so runs with and without virtual threads can be compared on memory as well as throughput.
+ * The server and the driver share the JVM, so the numbers cover both.
+ */
+class ResourceSampler implements AutoCloseable {
+    private static final long INTERVAL_MILLIS = 200;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final long startGcCount;
+    private final long startGcMillis;
+    private final Thread sampler;
+
+    private volatile boolean running = true;
+    private long samples;
+    private long heapUsedTotal;
+    private long heapUsedPeak;
+    private int threadsPeak;
+
+    ResourceSampler() {
+        this.startGcCount = gcCount();
+        this.startGcMillis = gcMillis();
+        this.sampler = new Thread(this::run, "loadtest-resource-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    private void run() {
+        while (running) {
+            long heapUsed = memory.getHeapMemoryUsage().getUsed();
+            int live = threads.getThreadCount();
+            synchronized (this) {
+                samples++;
+                heapUsedTotal += heapUsed;
+                heapUsedPeak = Math.max(heapUsedPeak, heapUsed);
+                threadsPeak = Math.max(threadsPeak, live);
+            }
+            try {
+                Thread.sleep(INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    synchronized Map<String, Object> summarize() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("heapUsedAvgMb", samples == 0 ? 0 : heapUsedTotal / samples / (1024 * 1024));
+        summary.put("heapUsedPeakMb", heapUsedPeak / (1024 * 1024));
+        summary.put("platformThreadsPeak", threadsPeak);
+        summary.put("gcCount", gcCount() - startGcCount);
+        summary.put("gcMillis", gcMillis() - startGcMillis);
+        return summary;
+    }
+
+    private long gcCount() {
+        return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private long gcMillis() {
+        return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        sampler.interrupt();
+        sampler.join();
+    }
+}
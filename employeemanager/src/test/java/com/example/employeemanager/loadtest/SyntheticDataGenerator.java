@@ -0,0 +1,131 @@
+package com.example.employeemanager.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeds the employee and users tables with reproducible synthetic data. The same seed always
+ * produces the same rows. Job titles follow a Zipf distribution (a few very common titles, a
+ * long tail of rare ones) and most employees are active, which is roughly what a real
+ * directory looks like.
+ */
+class SyntheticDataGenerator {
+    static final String USERNAME_PREFIX = "loaduser";
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Wanjiru", "Kamau",
+            "Aisha", "Mohamed", "Wei", "Mei", "Carlos", "Sofia", "Luca", "Giulia", "Hiroshi", "Yuki"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Otieno", "Mwangi", "Njoroge", "Kiplagat", "Chen", "Wang", "Tanaka", "Sato", "Rossi", "Bianchi",
+            "Muller", "Schmidt", "Dubois", "Moreau", "Silva", "Santos", "Kowalski", "Novak", "Ahmed", "Hassan"};
+    private static final String[] JOB_TITLES = {
+            "Software Engineer", "Sales Associate", "Customer Support Specialist", "Accountant", "Project Manager",
+            "Data Analyst", "Marketing Coordinator", "HR Generalist", "QA Engineer", "Operations Manager",
+            "Product Manager", "DevOps Engineer", "Business Analyst", "UX Designer", "Data Scientist",
+            "Engineering Manager", "Legal Counsel", "Security Engineer", "Technical Writer", "Office Manager",
+            "Recruiter", "Financial Controller", "Solutions Architect", "Chief Technology Officer", "Chief Executive Officer"};
+    private static final double ACTIVE_RATIO = 0.85;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long seed;
+    private final double[] jobTitleCdf;
+
+    SyntheticDataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seed = seed;
+        this.jobTitleCdf = zipfCdf(JOB_TITLES.length, 1.1);
+    }
+
+    /**
+     * Inserts employees with ids 1..count. The id sequence has to be moved past them afterwards.
+     */
+    void insertEmployees(int count, int batchSize) {
+        Random random = new Random(seed);
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int id = 1; id <= count; id++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            batch.add(new Object[]{
+                    (long) id,
+                    first + " " + last,
+                    (first + "." + last + id + "@example.com").toLowerCase(),
+                    jobTitle(random),
+                    phone(random),
+                    null,
+                    new UUID(seed, id).toString(),
+                    status(random)});
+            if (batch.size() == batchSize) {
+                insertEmployeeBatch(batch);
+            }
+        }
+        insertEmployeeBatch(batch);
+    }
+
+    /**
+     * Inserts users named loaduser1..loaduserN. They all share one password hash, since
+     * hashing 100k passwords with BCrypt would take far longer than the test itself.
+     */
+    void insertUsers(int count, String passwordHash, int batchSize) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 1; i <= count; i++) {
+            batch.add(new Object[]{USERNAME_PREFIX + i, passwordHash, "USER"});
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate("INSERT INTO users (username, password, role, token_family) VALUES (?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO users (username, password, role, token_family) VALUES (?, ?, ?, 0)", batch);
+        }
+    }
+
+    String jobTitle(Random random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < jobTitleCdf.length; i++) {
+            if (u <= jobTitleCdf[i]) {
+                return JOB_TITLES[i];
+            }
+        }
+        return JOB_TITLES[JOB_TITLES.length - 1];
+    }
+
+    String status(Random random) {
+        return random.nextDouble() < ACTIVE_RATIO ? "ACTIVE" : "INACTIVE";
+    }
+
+    String name(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    String phone(Random random) {
+        return String.format("+254-7%02d-%06d", random.nextInt(100), random.nextInt(1_000_000));
+    }
+
+    private void insertEmployeeBatch(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employee (id, name, email, job_title, phone, image_url, employee_code, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            cdf[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.employeemanager.resource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the signed refresh token endpoints end to end. Every test uses its own user, since
+ * detected reuse revokes all of a user's tokens.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("signedrefresh")
+class SignedRefreshTokenTest {
+    private static final String PASSWORD = "Refresh@123";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    void refreshRotatesTheToken() {
+        String first = login("rotate");
+
+        ResponseEntity<Map> refreshed = refresh(first);
+        assertThat(refreshed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String second = (String) refreshed.getBody().get("refreshToken");
+        assertThat(second).isNotEqualTo(first);
+        assertThat(refreshed.getBody().get("token")).isNotNull();
+
+        ResponseEntity<Map> again = refresh(second);
+        assertThat(again.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(again.getBody().get("refreshToken")).isNotEqualTo(second);
+    }
+
+    @Test
+    void replayedTokenIsRejectedAndRevokesTheFamily() {
+        String first = login("replay");
+        String second = (String) refresh(first).getBody().get("refreshToken");
+
+        ResponseEntity<Map> replayed = refresh(first);
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat((String) replayed.getBody().get("error")).contains("reuse");
+
+        // The legitimate holder of the rotated token is cut off too
+        assertThat(refresh(second).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void loggedOutTokenCannotBeRefreshed() {
+        String token = login("logout");
+
+        assertThat(post("/api/auth/logout", token).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<Map> refreshed = refresh(token);
+        assertThat(refreshed.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(refreshed.getBody().get("error")).isEqualTo("Refresh token revoked");
+    }
+
+    @Test
+    void sessionsOfTheSameUserRotateIndependently() {
+        String laptop = login("devices");
+        String phone = login("devices");
+
+        assertThat(refresh(laptop).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(refresh(phone).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private String login(String username) {
+        rest.postForEntity("/api/auth/register", Map.of("username", username, "password", PASSWORD), Map.class);
+        ResponseEntity<Map> response = rest.postForEntity("/api/auth/login",
+                Map.of("username", username, "password", PASSWORD), Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return (String) response.getBody().get("refreshToken");
+    }
+
+    private ResponseEntity<Map> refresh(String refreshToken) {
+        return post("/api/auth/refresh", refreshToken);
+    }
+
+    private ResponseEntity<Map> post(String path, String refreshToken) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(refreshToken);
+        return rest.postForEntity(path, new HttpEntity<>(headers), Map.class);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.dto.EmployeeImportResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class EmployeeImportServiceTest {
+    @Autowired
+    private EmployeeImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importedRowsStartAtTheFirstVersion() throws IOException {
+        String rows = """
+                {"id": 424242, "version": 7, "name": "Imported", "email": "imported@example.com", "jobTitle": "Dev", "status": "ACTIVE"}
+                """;
+
+        EmployeeImportResult result = importService.importEmployees(
+                new ByteArrayInputStream(rows.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select version from employee where email = 'imported@example.com'", Long.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from employee where id = 424242", Integer.class))
+                .isZero();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.employeemanager.service;
+
+import com.example.employeemanager.dto.EmployeePatch;
+import com.example.employeemanager.exception.EmployeeVersionConflictException;
+import com.example.employeemanager.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class EmployeePatchConflictTest {
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void retryAfterConflictSeesTheChangedRow() {
+        Employee employee = employeeService.addEmployee(
+                new Employee("Jane Doe", "jane@example.com", "Engineer", "1", null, null, "ACTIVE"));
+        long cachedVersion = employeeService.findEmployeeById(employee.getId()).getVersion();
+
+        // Another instance, or a direct write, changes the row behind the cached entry
+        jdbcTemplate.update("update employee set name = 'Changed', version = version + 1 where id = ?", employee.getId());
+
+        EmployeePatch patch = new EmployeePatch();
+        patch.setJobTitle("Manager");
+        assertThatThrownBy(() -> employeeService.patchEmployee(employee.getId(), cachedVersion, patch))
+                .isInstanceOf(EmployeeVersionConflictException.class);
+
+        long currentVersion = employeeService.findEmployeeVersion(employee.getId());
+        assertThat(currentVersion).isEqualTo(cachedVersion + 1);
+        Employee patched = employeeService.patchEmployee(employee.getId(), currentVersion, patch);
+        assertThat(patched.getName()).isEqualTo("Changed");
+        assertThat(patched.getJobTitle()).isEqualTo("Manager");
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.employeemanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeEmployeeCodeGeneratorTest {
+    private static final long NOW = SnowflakeEmployeeCodeGenerator.EPOCH_MILLIS + 1_000_000_000L;
+
+    @Test
+    void codesKeepIncreasingWhenTheClockStepsBack() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeEmployeeCodeGenerator generator = new SnowflakeEmployeeCodeGenerator(7, clock::get);
+
+        long before = generator.nextId();
+        clock.set(NOW - 60_000);
+        long afterRollback = generator.nextId();
+        long next = generator.nextId();
+
+        assertThat(afterRollback).isGreaterThan(before);
+        assertThat(next).isGreaterThan(afterRollback);
+        assertThat(timestamp(afterRollback)).isEqualTo(timestamp(before));
+    }
+
+    @Test
+    void sequenceOverflowCarriesIntoTheNextMillisecond() {
+        SnowflakeEmployeeCodeGenerator generator = new SnowflakeEmployeeCodeGenerator(7, () -> NOW);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(timestamp(ids.get(0))).isEqualTo(NOW - SnowflakeEmployeeCodeGenerator.EPOCH_MILLIS);
+        assertThat(timestamp(ids.get(4096))).isEqualTo(timestamp(ids.get(0)) + 1);
+        assertThat(ids).allMatch(id -> nodeId(id) == 7);
+    }
+
+    @Test
+    void codesSortLikeTheirIds() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeEmployeeCodeGenerator generator = new SnowflakeEmployeeCodeGenerator(1023, clock::get);
+
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 1000 == 0) {
+                clock.addAndGet(i % 3000 == 0 ? 86_400_000L : -5);
+            }
+            codes.add(generator.nextCode());
+        }
+
+        assertThat(codes).isSorted().doesNotHaveDuplicates();
+        assertThat(codes).allMatch(code -> code.length() == SnowflakeEmployeeCodeGenerator.LENGTH);
+    }
+
+    @Test
+    void nodeIdMustFitInTenBits() {
+        assertThatThrownBy(() -> new SnowflakeEmployeeCodeGenerator(1024, () -> NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeEmployeeCodeGenerator(-1, () -> NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void restartResumesAfterTheLatestStoredCode() {
+        String stored = new SnowflakeEmployeeCodeGenerator(9, () -> NOW).nextCode();
+
+        // Restarted with the clock a minute behind the code issued before the restart
+        SnowflakeEmployeeCodeGenerator generator = new SnowflakeEmployeeCodeGenerator(7, () -> NOW - 60_000);
+        generator.resumeAfter(stored);
+        String next = generator.nextCode();
+
+        assertThat(next).isGreaterThan(stored);
+        assertThat(timestamp(SnowflakeEmployeeCodeGenerator.decode(next)))
+                .isEqualTo(timestamp(SnowflakeEmployeeCodeGenerator.decode(stored)) + 1);
+    }
+
+    @Test
+    void codesInAnotherFormatAreNotResumedAfter() {
+        SnowflakeEmployeeCodeGenerator generator = new SnowflakeEmployeeCodeGenerator(7, () -> NOW);
+        generator.resumeAfter("ZZZZZZZZZZZZZ");
+        generator.resumeAfter("code-1000000");
+
+        assertThat(timestamp(generator.nextId())).isEqualTo(NOW - SnowflakeEmployeeCodeGenerator.EPOCH_MILLIS);
+    }
+
+    @Test
+    void nodeIdIsRequiredWithMoreThanOneInstance() {
+        assertThat(SnowflakeEmployeeCodeGenerator.configuredNodeId("", 1)).isZero();
+        assertThat(SnowflakeEmployeeCodeGenerator.configuredNodeId("12", 3)).isEqualTo(12);
+        assertThatThrownBy(() -> SnowflakeEmployeeCodeGenerator.configuredNodeId(" ", 2))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static long timestamp(long id) {
+        return id >>> 22;
+    }
+
+    private static long nodeId(long id) {
+        return (id >>> 12) & 1023;
+    }
+}